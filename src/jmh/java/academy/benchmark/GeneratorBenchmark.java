@@ -0,0 +1,43 @@
+package academy.benchmark;
+
+import academy.maze.NotInteractiveMazeManager;
+import academy.maze.dto.GeneratorType;
+import academy.maze.dto.Maze;
+import academy.maze.generator.Generator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Генерация лабиринта каждым алгоритмом из {@link GeneratorType} в одном потоке. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"101", "1001", "4001"})
+    private int size;
+
+    /** Без явного списка JMH перебирает все значения перечисления. */
+    @Param
+    private GeneratorType type;
+
+    /** Новое зерно на каждый вызов, чтобы не измерять один и тот же лабиринт. */
+    private long seed;
+
+    @Benchmark
+    public Maze generate() {
+        Generator generator = NotInteractiveMazeManager.createGenerator(type, false, seed++, false);
+        return generator.generate(size, size);
+    }
+}
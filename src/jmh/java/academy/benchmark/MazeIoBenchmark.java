@@ -0,0 +1,73 @@
+package academy.benchmark;
+
+import academy.maze.commands.MazeCommands;
+import academy.maze.dto.Maze;
+import academy.maze.generator.DFSGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Чтение и запись текстового файла лабиринта через {@link MazeCommands}. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeIoBenchmark {
+
+    @Param({"101", "1001", "4001"})
+    private int size;
+
+    private Maze maze;
+    private Path directory;
+    private String inputFile;
+    private String outputFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        maze = new DFSGenerator(false, 42).generate(size, size);
+        directory = Files.createTempDirectory("maze-benchmark");
+        inputFile = directory.resolve("input.txt").toString();
+        outputFile = directory.resolve("output.txt").toString();
+        MazeCommands.saveMazeToFile(maze, inputFile, false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(inputFile));
+        Files.deleteIfExists(Path.of(outputFile));
+        Files.deleteIfExists(directory);
+    }
+
+    /** Разбор файла: кэш лабиринтов сбрасывается перед каждой загрузкой. */
+    @Benchmark
+    public Maze load() throws IOException {
+        MazeCommands.mazeCache().invalidateAll();
+        return MazeCommands.loadMazeFromFile(inputFile);
+    }
+
+    /** Повторная загрузка неизменённого файла из кэша. */
+    @Benchmark
+    public Maze loadCached() throws IOException {
+        return MazeCommands.loadMazeFromFile(inputFile);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        MazeCommands.saveMazeToFile(maze, outputFile, false);
+    }
+}
@@ -0,0 +1,58 @@
+package academy.benchmark;
+
+import academy.maze.NotInteractiveMazeManager;
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import academy.maze.dto.SolverType;
+import academy.maze.generator.DFSGenerator;
+import academy.maze.solver.Solver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Поиск пути из угла в угол каждым решателем из {@link SolverType} на лабиринте с фиксированным зерном. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    private static final long MAZE_SEED = 42;
+
+    @Param({"101", "1001", "4001"})
+    private int size;
+
+    /** Без явного списка JMH перебирает все значения перечисления. */
+    @Param
+    private SolverType type;
+
+    private Maze maze;
+    private Solver solver;
+    private Point start;
+    private Point end;
+
+    @Setup
+    public void setUp() {
+        maze = new DFSGenerator(false, MAZE_SEED).generate(size, size);
+        solver = NotInteractiveMazeManager.createSolver(type);
+        start = new Point(1, 1);
+        end = new Point(size - 2, size - 2);
+    }
+
+    @Benchmark
+    public Path solve() {
+        return solver.solve(maze, start, end);
+    }
+}
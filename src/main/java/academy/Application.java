@@ -1,7 +1,11 @@
 package academy;
 
 import academy.maze.InteractiveMazeManager;
+import academy.maze.MazeServer;
 import academy.maze.NotInteractiveMazeManager;
+import academy.maze.solver.CellCosts;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
@@ -13,7 +17,12 @@ import picocli.CommandLine.Option;
         version = "1.0",
         mixinStandardHelpOptions = true,
         description = "Maze generator and solver CLI application.",
-        subcommands = {Application.GenerateCommand.class, Application.SolveCommand.class})
+        subcommands = {
+            Application.GenerateCommand.class,
+            Application.SolveCommand.class,
+            Application.SolveBatchCommand.class,
+            Application.ServeCommand.class
+        })
 public class Application implements Runnable {
 
     public static void main(String[] args) {
@@ -35,7 +44,7 @@ public class Application implements Runnable {
         @Option(
                 names = {"--algorithm", "-a"},
                 required = true,
-                description = "Maze generation algorithm (dfs, prim, binary)")
+                description = "Maze generation algorithm (dfs, prim, binary, eller, kruskal, sidewinder)")
         private String algorithm;
 
         @Option(
@@ -53,19 +62,32 @@ public class Application implements Runnable {
         @Option(
                 names = {"--output", "-o"},
                 required = true,
-                description = "Output file for the generated maze")
+                description = "Output file for the generated maze; the .mzb extension selects the binary format")
         private String output;
 
+        @Option(
+                names = {"--parallel", "-p"},
+                description =
+                        "Generate the maze on all available cores (row-parallel for binary and sidewinder, tiled otherwise)")
+        private boolean parallel;
+
+        @Option(
+                names = {"--seed"},
+                description = "Random seed; the same seed and size always produce the same maze")
+        private Long seed;
+
         @Override
         public void run() {
             LOGGER.info(
-                    "Запуск генерации лабиринта: algorithm={}, size={}x{}, output={}",
+                    "Запуск генерации лабиринта: algorithm={}, size={}x{}, output={}, parallel={}, seed={}",
                     algorithm,
                     width,
                     height,
-                    output);
+                    output,
+                    parallel,
+                    seed);
             try {
-                NotInteractiveMazeManager.generateMaze(algorithm, width, height, output);
+                NotInteractiveMazeManager.generateMaze(algorithm, width, height, output, parallel, seed);
             } catch (Exception e) {
                 System.err.println(e.getMessage());
             }
@@ -80,13 +102,13 @@ public class Application implements Runnable {
         @Option(
                 names = {"--algorithm", "-a"},
                 required = true,
-                description = "Maze solving algorithm (astar, dijkstra, bfs)")
+                description = "Maze solving algorithm (astar, dijkstra, dial, bfs, bibfs, jps, tree)")
         private String algorithm;
 
         @Option(
                 names = {"--file", "-f"},
                 required = true,
-                description = "Input maze file")
+                description = "Input maze file, text or .mzb")
         private String file;
 
         @Option(
@@ -104,9 +126,14 @@ public class Application implements Runnable {
         @Option(
                 names = {"--output", "-o"},
                 required = true,
-                description = "Output file for the solved maze")
+                description = "Output file for the solved maze; the .mzb extension selects the binary format")
         private String output;
 
+        @Option(
+                names = {"--costs"},
+                description = "Cell costs for weighted solving (dial), e.g. grass=2,sand=3,water=5")
+        private String costs;
+
         @Override
         public void run() {
             LOGGER.info(
@@ -120,7 +147,8 @@ public class Application implements Runnable {
             try {
                 int[] startCoords = parseCoords(start);
                 int[] endCoords = parseCoords(end);
-                NotInteractiveMazeManager.solveMaze(algorithm, file, startCoords, endCoords, output);
+                NotInteractiveMazeManager.solveMaze(
+                        algorithm, file, startCoords, endCoords, output, CellCosts.parse(costs));
                 LOGGER.info("Лабиринт решен успешно. Сохранено в {}", output);
             } catch (Exception e) {
                 System.err.println(e.getMessage());
@@ -154,4 +182,112 @@ public class Application implements Runnable {
             }
         }
     }
+
+    @Command(name = "solve-batch", description = "Solve many start/end queries against one maze in parallel.")
+    static class SolveBatchCommand implements Runnable {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(SolveBatchCommand.class);
+
+        @Option(
+                names = {"--algorithm", "-a"},
+                required = true,
+                description = "Maze solving algorithm (astar, dijkstra, dial, bfs, bibfs, jps, tree)")
+        private String algorithm;
+
+        @Option(
+                names = {"--file", "-f"},
+                required = true,
+                description = "Input maze file, text or .mzb")
+        private String file;
+
+        @Option(
+                names = {"--queries", "-q"},
+                required = true,
+                description = "Query file, one 'x1,y1 x2,y2' pair per line")
+        private String queries;
+
+        @Option(
+                names = {"--output", "-o"},
+                required = true,
+                description = "Output file: query, path length and path cells per line")
+        private String output;
+
+        @Option(
+                names = {"--threads", "-t"},
+                description = "Number of worker threads (default: number of available processors)")
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        @Option(
+                names = {"--costs"},
+                description = "Cell costs for weighted solving (dial), e.g. grass=2,sand=3,water=5")
+        private String costs;
+
+        @Override
+        public void run() {
+            LOGGER.info(
+                    "Solving queries: file={}, queries={}, algorithm={}, threads={}, output={}",
+                    file,
+                    queries,
+                    algorithm,
+                    threads,
+                    output);
+
+            try {
+                NotInteractiveMazeManager.solveBatch(algorithm, file, queries, output, threads, CellCosts.parse(costs));
+                LOGGER.info("Запросы решены. Сохранено в {}", output);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println(e.getMessage());
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    @Command(name = "serve", description = "Run a resident HTTP server for generate and solve requests.")
+    static class ServeCommand implements Runnable {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(ServeCommand.class);
+
+        @Option(
+                names = {"--host"},
+                description = "Address to listen on (default: 127.0.0.1)")
+        private String host = "127.0.0.1";
+
+        @Option(
+                names = {"--port"},
+                description = "Port to listen on (default: 8080)")
+        private int port = 8080;
+
+        @Option(
+                names = {"--costs"},
+                description = "Cell costs for weighted solving (dial), e.g. grass=2,sand=3,water=5")
+        private String costs;
+
+        @Option(
+                names = {"--root"},
+                description = "Directory that solve requests may read maze files from (default: current directory)")
+        private Path root = Path.of("");
+
+        @Override
+        public void run() {
+            LOGGER.info("Starting server: host={}, port={}, root={}", host, port, root);
+
+            try {
+                MazeServer server = MazeServer.start(host, port, CellCosts.parse(costs), root);
+                CountDownLatch stopped = new CountDownLatch(1);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.close();
+                    stopped.countDown();
+                }));
+                System.out.println("Сервер лабиринтов слушает http://" + host + ":" + server.port());
+                stopped.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println(e.getMessage());
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package academy.maze;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import academy.maze.solver.Solver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Решение множества запросов (старт, финиш) к одному лабиринту на всех ядрах.
+ *
+ * <p>Лабиринт общий: решение идёт на его неизменяемом снимке ({@link Maze#snapshot()}), без копий на поток. Каждый
+ * поток берёт запросы блоками из общего счётчика и решает их своим экземпляром решателя, так что рабочие массивы поиска
+ * выделяются один раз на поток, а не на запрос. Ответы пишутся в массив по номеру запроса, поэтому их порядок совпадает
+ * с порядком запросов при любом числе потоков.
+ */
+public final class BatchMazeSolver {
+
+    /** Сколько запросов поток забирает за раз: меньше обращений к общему счётчику при равномерной загрузке. */
+    private static final int QUERIES_PER_CLAIM = 32;
+
+    private final Supplier<? extends Solver> solverFactory;
+    private final int threads;
+
+    /**
+     * @param solverFactory фабрика решателей, вызывается один раз на поток.
+     * @param threads число потоков.
+     */
+    public BatchMazeSolver(Supplier<? extends Solver> solverFactory, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным: " + threads);
+        }
+        this.solverFactory = solverFactory;
+        this.threads = threads;
+    }
+
+    /** Запрос пути от {@code start} до {@code end}. */
+    public record Query(Point start, Point end) {
+
+        /**
+         * Разбирает запрос из строки вида {@code x1,y1 x2,y2}.
+         *
+         * @throws IllegalArgumentException если строка не в этом формате.
+         */
+        public static Query parse(String line) {
+            String[] points = line.trim().split("\\s+");
+            if (points.length != 2) {
+                throw new IllegalArgumentException("Неверный формат запроса: " + line + ", ожидается x1,y1 x2,y2");
+            }
+            return new Query(parsePoint(points[0], line), parsePoint(points[1], line));
+        }
+
+        private static Point parsePoint(String text, String line) {
+            String[] coords = text.split(",");
+            if (coords.length != 2) {
+                throw new IllegalArgumentException("Неверный формат запроса: " + line + ", ожидается x1,y1 x2,y2");
+            }
+            try {
+                return new Point(Integer.parseInt(coords[0]), Integer.parseInt(coords[1]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Координаты должны быть целыми числами: " + line, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return start.x() + "," + start.y() + " " + end.x() + "," + end.y();
+        }
+    }
+
+    /**
+     * Разбирает файл запросов: по запросу в строке, пустые строки и строки, начинающиеся с {@code #}, пропускаются.
+     *
+     * @throws IllegalArgumentException с номером строки, если строка не разбирается.
+     */
+    public static List<Query> parseQueries(List<String> lines) {
+        List<Query> queries = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                queries.add(Query.parse(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Строка " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Решает все запросы.
+     *
+     * @return по строке на запрос в том же порядке: запрос, число клеток пути и сами клетки через пробел; если пути нет
+     *     или точки неверны — запрос, {@code -1} и текст ошибки. Поля разделены табуляцией.
+     */
+    public List<String> solveAll(Maze source, List<Query> queries) throws InterruptedException {
+        Maze maze = source.snapshot();
+        String[] results = new String[queries.size()];
+        AtomicInteger nextQuery = new AtomicInteger();
+        int workers = Math.min(threads, Math.max(1, queries.size()));
+
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                Solver solver = solverFactory.get();
+                for (int from = nextQuery.getAndAdd(QUERIES_PER_CLAIM);
+                        from < results.length;
+                        from = nextQuery.getAndAdd(QUERIES_PER_CLAIM)) {
+                    int to = Math.min(results.length, from + QUERIES_PER_CLAIM);
+                    for (int q = from; q < to; q++) {
+                        results[q] = answer(solver, maze, queries.get(q));
+                    }
+                }
+                return null;
+            });
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при решении запросов", e.getCause());
+        }
+        return Arrays.asList(results);
+    }
+
+    private static String answer(Solver solver, Maze maze, Query query) {
+        try {
+            Path path = solver.solve(maze, query.start(), query.end());
+            StringBuilder line = new StringBuilder(query.toString())
+                    .append('\t')
+                    .append(path.points().length)
+                    .append('\t');
+            for (int i = 0; i < path.points().length; i++) {
+                Point point = path.points()[i];
+                if (i > 0) {
+                    line.append(' ');
+                }
+                line.append(point.x()).append(',').append(point.y());
+            }
+            return line.toString();
+        } catch (RuntimeException e) {
+            return query + "\t-1\t" + e.getMessage();
+        }
+    }
+}
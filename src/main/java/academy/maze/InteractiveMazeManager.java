@@ -6,9 +6,16 @@ import academy.maze.dto.Maze;
 import academy.maze.dto.Point;
 import academy.maze.generator.BinaryTreeGenerator;
 import academy.maze.generator.DFSGenerator;
+import academy.maze.generator.EllerGenerator;
+import academy.maze.generator.KruskalGenerator;
 import academy.maze.generator.PrimGenerator;
+import academy.maze.generator.SidewinderGenerator;
 import academy.maze.solver.AStarSolver;
+import academy.maze.solver.BfsSolver;
+import academy.maze.solver.BidirectionalBfsSolver;
+import academy.maze.solver.DialSolver;
 import academy.maze.solver.DijkstraSolver;
+import academy.maze.solver.JumpPointSolver;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -69,6 +76,9 @@ public class InteractiveMazeManager {
         System.out.println("1. Алгоритм Прима");
         System.out.println("2. Поиск в глубину (DFS)");
         System.out.println("3. Бинарное дерево");
+        System.out.println("4. Алгоритм Эллера");
+        System.out.println("5. Алгоритм Краскала");
+        System.out.println("6. Sidewinder");
         System.out.print("> ");
 
         int algorithm = readInt();
@@ -97,6 +107,9 @@ public class InteractiveMazeManager {
             case 1 -> new PrimGenerator(useCoatings).generate(width, height);
             case 2 -> new DFSGenerator(useCoatings).generate(width, height);
             case 3 -> new BinaryTreeGenerator(useCoatings).generate(width, height);
+            case 4 -> new EllerGenerator(useCoatings).generate(width, height);
+            case 5 -> new KruskalGenerator(useCoatings).generate(width, height);
+            case 6 -> new SidewinderGenerator(useCoatings).generate(width, height);
             default -> {
                 System.out.println("Неизвестный алгоритм, используется Прим");
                 yield new PrimGenerator(useCoatings).generate(width, height);
@@ -108,7 +121,6 @@ public class InteractiveMazeManager {
         Maze maze = loadMazeFromUser();
         Point start = selectStartPoint(maze);
         Point end = selectEndPoint(maze, start);
-        updateMazeGrid(maze, start, end);
         var solution = selectAndRunSolver(maze, start, end);
         handleSolutionOutput(maze, solution);
     }
@@ -119,16 +131,14 @@ public class InteractiveMazeManager {
         return MazeCommands.loadMazeFromFile(filename);
     }
 
-    private static void updateMazeGrid(Maze maze, Point start, Point end) {
-        CellType[][] grid = maze.cells();
-        grid[start.y()][start.x()] = CellType.START;
-        grid[end.y()][end.x()] = CellType.END;
-    }
-
     private static academy.maze.dto.Path selectAndRunSolver(Maze maze, Point start, Point end) {
         System.out.println("Выберите алгоритм решения:");
         System.out.println("1. A*");
         System.out.println("2. Дейкстра");
+        System.out.println("3. Дейкстра с учётом покрытий (корзины Дайла)");
+        System.out.println("4. Поиск в ширину");
+        System.out.println("5. Двунаправленный поиск в ширину");
+        System.out.println("6. Jump Point Search");
         System.out.print("> ");
 
         int algorithm = readInt();
@@ -136,6 +146,10 @@ public class InteractiveMazeManager {
         return switch (algorithm) {
             case 1 -> new AStarSolver().solve(maze, start, end);
             case 2 -> new DijkstraSolver().solve(maze, start, end);
+            case 3 -> new DialSolver().solve(maze, start, end);
+            case 4 -> new BfsSolver().solve(maze, start, end);
+            case 5 -> new BidirectionalBfsSolver().solve(maze, start, end);
+            case 6 -> new JumpPointSolver().solve(maze, start, end);
             default -> throw new IllegalArgumentException("Неизвестный алгоритм");
         };
     }
@@ -237,19 +251,11 @@ public class InteractiveMazeManager {
     }
 
     private static Point findRandomPoint(Maze maze) {
-        CellType[][] grid = maze.cells();
-        List<Point> validPoints = new ArrayList<>();
-        for (int y = 0; y < grid.length; y++) {
-            for (int x = 0; x < grid[y].length; x++) {
-                if (grid[y][x] != CellType.WALL) {
-                    validPoints.add(new Point(x, y));
-                }
-            }
-        }
-        if (validPoints.isEmpty()) {
+        if (maze.passableCount() == 0) {
             throw new IllegalStateException("В лабиринте нет свободных клеток");
         }
-        Point point = validPoints.get(random.nextInt(validPoints.size()));
+        int cell = maze.passableCell(random.nextInt(maze.passableCount()));
+        Point point = new Point(cell % maze.width(), cell / maze.width());
         System.out.println("Случайная точка: (" + point.x() + ", " + point.y() + ")");
         return point;
     }
@@ -0,0 +1,338 @@
+package academy.maze;
+
+import academy.maze.commands.MazeCommands;
+import academy.maze.commands.MazeFormatException;
+import academy.maze.dto.CellType;
+import academy.maze.dto.GeneratorType;
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import academy.maze.dto.SolverType;
+import academy.maze.solver.CellCosts;
+import academy.maze.solver.SearchLimits;
+import academy.maze.solver.SearchResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Постоянно работающий HTTP-сервер для генерации и решения лабиринтов. Запуск JVM, разбор аргументов и загрузка классов
+ * оплачиваются один раз, а не на каждый запрос; каждый запрос обрабатывается в своём виртуальном потоке. Загруженные
+ * лабиринты и найденные пути остаются в памяти в общих кэшах ({@link MazeCommands#mazeCache()},
+ * {@link NotInteractiveMazeManager#solutionCache()}), так что повторные запросы к тем же файлам не читают диск и не
+ * ищут путь заново.
+ *
+ * <p>Запросы — {@code GET} с параметрами в строке запроса, ответы — {@code text/plain} в UTF-8:
+ *
+ * <ul>
+ *   <li>{@code /solve?file=&start=x,y&end=x,y[&algorithm=astar][&format=maze|path][&unicode=true]} — лабиринт с путём,
+ *       как у команды {@code solve}, или при {@code format=path} длина пути и его клетки через пробел; параметры
+ *       {@code maxExpansions} и {@code timeout} (миллисекунды) ограничивают поиск;
+ *   <li>{@code /generate?width=&height=[&algorithm=dfs][&seed=][&unicode=true]} — новый лабиринт, зерно возвращается в
+ *       заголовке {@code X-Maze-Seed};
+ *   <li>{@code /stats} — счётчики кэшей лабиринтов и путей.
+ * </ul>
+ *
+ * <p>Параметр {@code file} — путь внутри корневого каталога сервера; пути, выходящие за него (через {@code ..},
+ * абсолютный путь или символическую ссылку), отклоняются. Точки проверяются так же, как командой {@code solve}: вне
+ * лабиринта или совпадающие старт и финиш — ошибка запроса.
+ *
+ * <p>Неверные параметры дают 400, ненайденный файл — 404, повреждённый файл или отсутствие пути — 422, поиск, не
+ * уложившийся в ограничения или отменённый, — 503. Любая другая ошибка — внутренняя: 500 с записью в лог.
+ */
+@Slf4j
+public final class MazeServer implements AutoCloseable {
+
+    /** Наибольший размер лабиринта, который сервер согласен сгенерировать за один запрос. */
+    public static final long MAX_GENERATED_CELLS = 16L << 20;
+
+    private static final String TEXT_PLAIN = "text/plain; charset=utf-8";
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int UNPROCESSABLE = 422;
+    private static final int INTERNAL_ERROR = 500;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CellCosts costs;
+    private final java.nio.file.Path root;
+
+    private MazeServer(HttpServer server, ExecutorService executor, CellCosts costs, java.nio.file.Path root) {
+        this.server = server;
+        this.executor = executor;
+        this.costs = costs;
+        this.root = root;
+    }
+
+    /**
+     * Запускает сервер.
+     *
+     * @param port порт; {@code 0} — любой свободный, его вернёт {@link #port()}.
+     * @param costs стоимости клеток для взвешенных алгоритмов.
+     * @param root каталог, из которого отдаются файлы лабиринтов; должен существовать.
+     */
+    public static MazeServer start(String host, int port, CellCosts costs, java.nio.file.Path root) throws IOException {
+        java.nio.file.Path realRoot = root.toRealPath();
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        MazeServer mazeServer = new MazeServer(server, executor, costs, realRoot);
+        server.createContext("/solve", exchange -> mazeServer.handle(exchange, mazeServer::solve));
+        server.createContext("/generate", exchange -> mazeServer.handle(exchange, mazeServer::generate));
+        server.createContext("/stats", exchange -> mazeServer.handle(exchange, mazeServer::stats));
+        server.setExecutor(executor);
+        server.start();
+        log.info("Сервер лабиринтов запущен на {}, файлы из {}", server.getAddress(), realRoot);
+        return mazeServer;
+    }
+
+    /** Порт, на котором сервер принимает запросы. */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Останавливает приём запросов и ждёт завершения начатых. */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        log.info("Сервер лабиринтов остановлен");
+    }
+
+    /** Обработчик запроса: пишет тело ответа в {@code body} и возвращает код ответа с дополнительными заголовками. */
+    @FunctionalInterface
+    private interface Handler {
+        Reply handle(Map<String, String> params, OutputStream body) throws IOException;
+    }
+
+    /** Код ответа и дополнительные заголовки. */
+    private record Reply(int status, Map<String, String> headers) {
+
+        static Reply ok() {
+            return new Reply(OK, Map.of());
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            int status = OK;
+            Map<String, String> headers = Map.of();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                status = METHOD_NOT_ALLOWED;
+                body.writeBytes("Поддерживается только GET\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                try {
+                    Reply reply =
+                            handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()), body);
+                    status = reply.status();
+                    headers = reply.headers();
+                } catch (IllegalArgumentException e) {
+                    status = BAD_REQUEST;
+                    body = errorBody(e);
+                } catch (NoSuchFileException e) {
+                    status = NOT_FOUND;
+                    body = errorBody(e);
+                } catch (MazeFormatException e) {
+                    status = UNPROCESSABLE;
+                    body = errorBody(e);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Ошибка при обработке запроса {}", exchange.getRequestURI(), e);
+                    status = INTERNAL_ERROR;
+                    body = errorBody(e);
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+            headers.forEach(exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(status, body.size() == 0 ? -1 : body.size());
+            body.writeTo(exchange.getResponseBody());
+        }
+    }
+
+    private static ByteArrayOutputStream errorBody(Throwable e) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes((e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+        return body;
+    }
+
+    private static Reply failure(int status, String message, OutputStream body) throws IOException {
+        body.write((message + "\n").getBytes(StandardCharsets.UTF_8));
+        return new Reply(status, Map.of());
+    }
+
+    private Reply solve(Map<String, String> params, OutputStream body) throws IOException {
+        Maze maze = loadMaze(required(params, "file"));
+        Point start = parsePoint(required(params, "start"));
+        Point end = parsePoint(required(params, "end"));
+        NotInteractiveMazeManager.validatePoints(maze, start.x(), start.y(), end.x(), end.y());
+        if (maze.count(CellType.PATH) > 0) {
+            return failure(UNPROCESSABLE, "В лабиринте уже есть решение (найдены клетки PATH)", body);
+        }
+        SolverType type = SolverType.find(params.getOrDefault("algorithm", "astar"));
+        SearchResult result =
+                NotInteractiveMazeManager.createCachingSolver(type, costs).solve(maze, start, end, limits(params));
+        switch (result.status()) {
+            case FOUND -> {}
+            case NO_PATH -> {
+                return failure(UNPROCESSABLE, "Решение не найдено", body);
+            }
+            case BUDGET_EXCEEDED -> {
+                return failure(
+                        SERVICE_UNAVAILABLE,
+                        "Поиск не уложился в ограничения: раскрыто клеток " + result.expanded(),
+                        body);
+            }
+            case CANCELLED -> {
+                return failure(SERVICE_UNAVAILABLE, "Поиск отменён", body);
+            }
+        }
+        Path path = result.path();
+
+        String format = params.getOrDefault("format", "maze");
+        switch (format) {
+            case "maze" -> MazeCommands.writeSolution(maze, Arrays.asList(path.points()), body, unicode(params));
+            case "path" -> body.write(formatPath(path).getBytes(StandardCharsets.UTF_8));
+            default -> throw new IllegalArgumentException("Неизвестный формат ответа: " + format);
+        }
+        return Reply.ok();
+    }
+
+    /**
+     * Загружает лабиринт по пути из запроса. В ответ об ошибке попадает только этот путь: ни расположение корня, ни
+     * содержимое файла клиенту не сообщаются.
+     */
+    private Maze loadMaze(String file) throws IOException {
+        java.nio.file.Path resolved = root.resolve(file).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Файл вне корневого каталога сервера: " + file);
+        }
+        if (!Files.isRegularFile(resolved)) {
+            throw new NoSuchFileException(file, null, "файл лабиринта не найден");
+        }
+        java.nio.file.Path real = resolved.toRealPath();
+        if (!real.startsWith(root)) {
+            throw new IllegalArgumentException("Файл вне корневого каталога сервера: " + file);
+        }
+        try {
+            return MazeCommands.loadMazeFromFile(real);
+        } catch (MazeFormatException e) {
+            log.debug("Файл {} не является лабиринтом: {}", real, e.getMessage());
+            throw new MazeFormatException("Файл не является лабиринтом или повреждён: " + file);
+        }
+    }
+
+    private Reply generate(Map<String, String> params, OutputStream body) throws IOException {
+        int width = parseInt(required(params, "width"), "width");
+        int height = parseInt(required(params, "height"), "height");
+        if (width < 1 || height < 1 || (long) width * height > MAX_GENERATED_CELLS) {
+            throw new IllegalArgumentException(
+                    "Размер лабиринта должен быть положительным и не больше " + MAX_GENERATED_CELLS + " клеток");
+        }
+        GeneratorType type = GeneratorType.find(params.getOrDefault("algorithm", "dfs"));
+        long seed = params.containsKey("seed")
+                ? Long.parseLong(params.get("seed"))
+                : ThreadLocalRandom.current().nextLong();
+        Maze maze = NotInteractiveMazeManager.createGenerator(type, false, seed, false)
+                .generate(width, height);
+        MazeCommands.writeMaze(maze, body, unicode(params));
+        return new Reply(OK, Map.of("X-Maze-Seed", Long.toString(seed)));
+    }
+
+    private Reply stats(Map<String, String> params, OutputStream body) throws IOException {
+        String text = "mazes: " + MazeCommands.mazeCache().stats() + "\n" + "solutions: "
+                + NotInteractiveMazeManager.solutionCache().stats() + "\n";
+        body.write(text.getBytes(StandardCharsets.UTF_8));
+        return Reply.ok();
+    }
+
+    private static SearchLimits limits(Map<String, String> params) {
+        SearchLimits limits = SearchLimits.none();
+        if (params.containsKey("maxExpansions")) {
+            limits = limits.withMaxExpansions(parseLong(params.get("maxExpansions"), "maxExpansions"));
+        }
+        if (params.containsKey("timeout")) {
+            limits = limits.withTimeout(Duration.ofMillis(parseLong(params.get("timeout"), "timeout")));
+        }
+        return limits;
+    }
+
+    private static String formatPath(Path path) {
+        StringBuilder text = new StringBuilder().append(path.points().length).append('\t');
+        for (int i = 0; i < path.points().length; i++) {
+            Point point = path.points()[i];
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(point.x()).append(',').append(point.y());
+        }
+        return text.append('\n').toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(
+                    URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Не задан параметр " + name);
+        }
+        return value;
+    }
+
+    private static Point parsePoint(String text) {
+        String[] coords = text.split(",");
+        if (coords.length != 2) {
+            throw new IllegalArgumentException("Неверный формат точки: " + text + ", ожидается x,y");
+        }
+        return new Point(parseInt(coords[0].trim(), text), parseInt(coords[1].trim(), text));
+    }
+
+    private static int parseInt(String text, String name) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ожидается целое число: " + name + "=" + text, e);
+        }
+    }
+
+    private static long parseLong(String text, String name) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ожидается целое число: " + name + "=" + text, e);
+        }
+    }
+
+    private static boolean unicode(Map<String, String> params) {
+        return Boolean.parseBoolean(params.getOrDefault("unicode", "false"));
+    }
+}
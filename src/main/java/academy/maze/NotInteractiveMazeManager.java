@@ -8,42 +8,91 @@ import academy.maze.dto.Point;
 import academy.maze.dto.SolverType;
 import academy.maze.generator.BinaryTreeGenerator;
 import academy.maze.generator.DFSGenerator;
+import academy.maze.generator.EllerGenerator;
+import academy.maze.generator.Generator;
+import academy.maze.generator.KruskalGenerator;
+import academy.maze.generator.ParallelTiledGenerator;
 import academy.maze.generator.PrimGenerator;
+import academy.maze.generator.SidewinderGenerator;
 import academy.maze.solver.AStarSolver;
+import academy.maze.solver.BfsSolver;
+import academy.maze.solver.BidirectionalBfsSolver;
+import academy.maze.solver.CachingSolver;
+import academy.maze.solver.CellCosts;
+import academy.maze.solver.DialSolver;
 import academy.maze.solver.DijkstraSolver;
+import academy.maze.solver.JumpPointSolver;
+import academy.maze.solver.SolutionCache;
+import academy.maze.solver.Solver;
+import academy.maze.solver.TreePathSolver;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class NotInteractiveMazeManager {
 
-    public static void generateMaze(String algorithm, int width, int height, String outputFile) throws IOException {
+    private static final SolutionCache SOLUTION_CACHE = new SolutionCache(SolutionCache.DEFAULT_MAX_CELLS);
+
+    /** Ключ решателя в {@link SolutionCache}: стоимости клеток различают только взвешенные алгоритмы. */
+    private record SolverKey(SolverType type, CellCosts costs) {}
+
+    /**
+     * Генерирует лабиринт и сохраняет его в файл. Файл с расширением {@code .mzb} пишется в двоичном формате, в его
+     * заголовок попадают алгоритм и зерно.
+     *
+     * @param seed зерно генерации; если {@code null}, выбирается случайное и пишется в лог, чтобы лабиринт можно было
+     *     воспроизвести.
+     */
+    public static void generateMaze(
+            String algorithm, int width, int height, String outputFile, boolean parallel, Long seed)
+            throws IOException {
 
         if (width == 1 && height == 1) {
-            CellType[][] grid = new CellType[3][3];
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 3; j++) {
-                    grid[i][j] = CellType.WALL;
-                }
-            }
-            grid[1][1] = CellType.EMPTY;
-
-            Maze maze = new Maze(grid);
+            Maze maze = new Maze(3, 3);
+            maze.set(1, 1, CellType.EMPTY);
+
             MazeCommands.saveMazeToFile(maze, outputFile, false);
             return;
         }
 
         boolean useCoatings = false;
-        Maze maze = createMaze(algorithm, width, height, useCoatings);
+        GeneratorType type = GeneratorType.find(algorithm);
+        long actualSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        log.info("Зерно генерации: {}", actualSeed);
+        if (parallel && !isRowParallel(type)) {
+            Generator generator = new ParallelTiledGenerator(
+                    tileSeed -> createGenerator(type, useCoatings, tileSeed, false), useCoatings, actualSeed);
+            MazeCommands.saveMazeToFile(generator.generate(width, height), outputFile, false, type, actualSeed);
+            return;
+        }
+        if (type == GeneratorType.ELLER) {
+            MazeCommands.streamMazeToFile(
+                    new EllerGenerator(useCoatings, actualSeed), width, height, outputFile, false, type, actualSeed);
+            return;
+        }
+        Maze maze = createGenerator(type, useCoatings, actualSeed, parallel).generate(width, height);
 
-        MazeCommands.saveMazeToFile(maze, outputFile, false);
+        MazeCommands.saveMazeToFile(maze, outputFile, false, type, actualSeed);
     }
 
     public static void solveMaze(
             String algorithm, String inputFile, int[] startCoords, int[] endCoords, String outputFile)
             throws IOException {
+        solveMaze(algorithm, inputFile, startCoords, endCoords, outputFile, CellCosts.defaults());
+    }
+
+    /**
+     * Решает лабиринт из файла и сохраняет решение.
+     *
+     * @param costs стоимости клеток для взвешенных алгоритмов; невзвешенные алгоритмы их не учитывают.
+     */
+    public static void solveMaze(
+            String algorithm, String inputFile, int[] startCoords, int[] endCoords, String outputFile, CellCosts costs)
+            throws IOException {
 
         log.info(
                 "Решение лабиринта алгоритмом {} от ({},{}) до ({},{})",
@@ -65,11 +114,7 @@ public class NotInteractiveMazeManager {
         Point start = new Point(startX, startY);
         Point end = new Point(endX, endY);
 
-        CellType[][] grid = maze.cells();
-        grid[start.y()][start.x()] = CellType.START;
-        grid[end.y()][end.x()] = CellType.END;
-
-        var solution = solveWithAlgorithm(algorithm, maze, start, end);
+        var solution = createCachingSolver(SolverType.find(algorithm), costs).solve(maze, start, end);
 
         MazeCommands.saveSolutionToFile(maze, Arrays.asList(solution.points()), outputFile, false);
 
@@ -77,31 +122,103 @@ public class NotInteractiveMazeManager {
         log.info("Длина пути: {} клеток", solution.points().length);
     }
 
-    private static Maze createMaze(String algorithm, int width, int height, boolean useCoatings) {
-        GeneratorType type = GeneratorType.find(algorithm);
+    /**
+     * Решает все запросы из файла {@code queriesFile} к одному лабиринту параллельно и пишет ответы в
+     * {@code outputFile}, по строке на запрос (формат — {@link BatchMazeSolver#solveAll}).
+     *
+     * @param threads число потоков.
+     */
+    public static void solveBatch(
+            String algorithm, String inputFile, String queriesFile, String outputFile, int threads, CellCosts costs)
+            throws IOException, InterruptedException {
+        SolverType type = SolverType.find(algorithm);
+        Maze maze = MazeCommands.loadMazeFromFile(inputFile);
+        List<BatchMazeSolver.Query> queries = BatchMazeSolver.parseQueries(MazeCommands.loadLinesFromFile(queriesFile));
+        log.info("Решение {} запросов алгоритмом {} в {} потоках", queries.size(), type, threads);
+
+        long startedAt = System.nanoTime();
+        List<String> results =
+                new BatchMazeSolver(() -> createCachingSolver(type, costs), threads).solveAll(maze, queries);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        MazeCommands.saveLinesToFile(results, outputFile);
+        log.info("Запросов решено: {} за {} мс", queries.size(), elapsedMillis);
+        log.info("Кэш решений: {}", SOLUTION_CACHE.stats());
+        log.info("Ответы сохранены в: {}", Path.of(outputFile).toAbsolutePath());
+    }
+
+    /**
+     * Создаёт генератор заданного типа.
+     *
+     * @param parallel распараллеливать генерацию внутри генератора, если алгоритм это умеет.
+     */
+    public static Generator createGenerator(GeneratorType type, boolean useCoatings, long seed, boolean parallel) {
         return switch (type) {
-            case PRIM -> new PrimGenerator(useCoatings).generate(width, height);
-            case DFS -> new DFSGenerator(useCoatings).generate(width, height);
-            case BINARY -> new BinaryTreeGenerator(useCoatings).generate(width, height);
+            case PRIM -> new PrimGenerator(useCoatings, seed);
+            case DFS -> new DFSGenerator(useCoatings, seed);
+            case BINARY -> new BinaryTreeGenerator(useCoatings, seed, parallel);
+            case ELLER -> new EllerGenerator(useCoatings, seed);
+            case KRUSKAL -> new KruskalGenerator(useCoatings, seed);
+            case SIDEWINDER -> new SidewinderGenerator(useCoatings, seed, parallel);
         };
     }
 
-    private static academy.maze.dto.Path solveWithAlgorithm(String algorithm, Maze maze, Point start, Point end) {
-        SolverType type = SolverType.find(algorithm);
+    /** Алгоритмы, которые сами распараллеливаются по строкам и не нуждаются в разбиении на плитки. */
+    private static boolean isRowParallel(GeneratorType type) {
+        return type == GeneratorType.BINARY || type == GeneratorType.SIDEWINDER;
+    }
+
+    /** Создаёт решатель заданного типа; взвешенные решатели получают стоимости по умолчанию. */
+    public static Solver createSolver(SolverType type) {
+        return createSolver(type, CellCosts.defaults());
+    }
+
+    /**
+     * Создаёт решатель заданного типа.
+     *
+     * @param costs стоимости клеток для взвешенных алгоритмов.
+     */
+    public static Solver createSolver(SolverType type, CellCosts costs) {
         return switch (type) {
-            case ASTAR -> new AStarSolver().solve(maze, start, end);
-            case DIJKSTRA -> new DijkstraSolver().solve(maze, start, end);
+            case ASTAR -> new AStarSolver();
+            case DIJKSTRA -> new DijkstraSolver();
+            case DIAL -> new DialSolver(costs);
+            case BFS -> new BfsSolver();
+            case BIBFS -> new BidirectionalBfsSolver();
+            case JPS -> new JumpPointSolver();
+            case TREE -> new TreePathSolver();
         };
     }
 
-    private static void validatePoints(Maze maze, int startX, int startY, int endX, int endY) {
-        CellType[][] grid = maze.cells();
+    /**
+     * Решатель заданного типа за общим {@link #solutionCache()}: повторные запросы к тому же лабиринту отвечаются из
+     * кэша. Если стоимость старта или финиша отличается от пустой клетки, кэш не используется — его ключ не различает
+     * эти клетки.
+     */
+    public static Solver createCachingSolver(SolverType type, CellCosts costs) {
+        Solver solver = createSolver(type, costs);
+        if (type != SolverType.DIAL) {
+            return new CachingSolver(solver, new SolverKey(type, null), SOLUTION_CACHE);
+        }
+        int emptyCost = costs.cost(CellType.EMPTY);
+        if (costs.cost(CellType.START) != emptyCost || costs.cost(CellType.END) != emptyCost) {
+            return solver;
+        }
+        return new CachingSolver(solver, new SolverKey(type, costs), SOLUTION_CACHE);
+    }
 
-        if (!isValidPosition(grid, startX, startY)) {
+    /** Кэш путей, общий для всех решателей из {@link #createCachingSolver}. */
+    public static SolutionCache solutionCache() {
+        return SOLUTION_CACHE;
+    }
+
+    /** Проверки точек запроса, общие для команды {@code solve} и {@link MazeServer}. */
+    static void validatePoints(Maze maze, int startX, int startY, int endX, int endY) {
+        if (!maze.contains(startX, startY)) {
             throw new IllegalArgumentException("Неверная стартовая позиция: (" + startX + ", " + startY + ")");
         }
 
-        if (!isValidPosition(grid, endX, endY)) {
+        if (!maze.contains(endX, endY)) {
             throw new IllegalArgumentException("Неверная конечная позиция: (" + endX + ", " + endY + ")");
         }
 
@@ -109,16 +226,12 @@ public class NotInteractiveMazeManager {
             throw new IllegalArgumentException("Старт и финиш не могут совпадать");
         }
 
-        if (grid[startY][startX] == CellType.WALL) {
+        if (maze.get(startX, startY) == CellType.WALL) {
             log.warn("Стартовая точка находится на стене!");
         }
 
-        if (grid[endY][endX] == CellType.WALL) {
+        if (maze.get(endX, endY) == CellType.WALL) {
             log.warn("Конечная точка находится на стене!");
         }
     }
-
-    private static boolean isValidPosition(CellType[][] grid, int x, int y) {
-        return x >= 0 && x < grid[0].length && y >= 0 && y < grid.length;
-    }
 }
@@ -0,0 +1,245 @@
+package academy.maze.commands;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.GeneratorType;
+import academy.maze.dto.Maze;
+import academy.maze.dto.MazeFileHeader;
+import academy.maze.dto.Point;
+import academy.maze.generator.RowSink;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Двоичный формат лабиринта {@code .mzb}.
+ *
+ * <p>Файл начинается с заголовка фиксированной длины {@value #HEADER_SIZE} байт (целые числа — big-endian):
+ *
+ * <ul>
+ *   <li>сигнатура {@code MZB} и номер версии формата — 4 байта;
+ *   <li>ширина и высота — по 4 байта;
+ *   <li>номер {@link GeneratorType} или {@code -1} — 1 байт;
+ *   <li>флаги, бит 0 — зерно известно — 1 байт;
+ *   <li>зерно генерации — 8 байт;
+ *   <li>индексы клеток старта и финиша ({@code y * width + x}) или {@code -1} — по 4 байта.
+ * </ul>
+ *
+ * <p>За заголовком идут клетки построчно, по 3 бита на клетку (порядковый номер {@link CellType}, типов ровно восемь).
+ * Биты упакованы подряд без выравнивания строк, младшие биты байта заполняются первыми. Файл пишется и читается блоками
+ * через {@link FileChannel}, без посимвольного вывода.
+ */
+final class MazeBinaryFormat {
+
+    static final String EXTENSION = ".mzb";
+
+    /** Значение поля заголовка, когда генератор, старт или финиш неизвестны. */
+    static final int NONE = -1;
+
+    private static final byte[] MAGIC = {'M', 'Z', 'B'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 30;
+    private static final int BITS_PER_CELL = 3;
+    private static final int CELL_MASK = (1 << BITS_PER_CELL) - 1;
+    private static final int SEED_PRESENT = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final GeneratorType[] GENERATORS = GeneratorType.values();
+
+    private MazeBinaryFormat() {}
+
+    static boolean isBinary(String filename) {
+        return filename.toLowerCase().endsWith(EXTENSION);
+    }
+
+    /**
+     * Пишет лабиринт с наложенным поверх путём. Старт и финиш в заголовке — концы пути, а без пути — первые клетки
+     * START и END лабиринта.
+     */
+    static void write(Maze maze, PathOverlay overlay, Path path, GeneratorType generator, Long seed)
+            throws IOException {
+        int start = overlay.start() != NONE ? overlay.start() : maze.firstIndexOf(CellType.START);
+        int end = overlay.end() != NONE ? overlay.end() : maze.firstIndexOf(CellType.END);
+        try (RowWriter writer = new RowWriter(path, maze.width(), maze.height(), generator, seed, start, end)) {
+            byte[] row = new byte[maze.width()];
+            for (int y = 0; y < maze.height(); y++) {
+                maze.getRow(y, row);
+                overlay.apply(y, maze.width(), row);
+                writer.writeRow(row);
+            }
+        }
+    }
+
+    static MazeFileHeader readHeader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ensureHasHeader(channel.size(), path);
+            return parseHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE), path);
+        }
+    }
+
+    static Maze read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ensureHasHeader(size, path);
+            if (size > Integer.MAX_VALUE) {
+                throw new MazeFormatException("Файл лабиринта слишком большой: " + path);
+            }
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            MazeFileHeader header = parseHeader(bytes, path);
+            if (size != HEADER_SIZE + packedSize(header.width(), header.height())) {
+                throw new MazeFormatException("Размер файла не соответствует заголовку, файл повреждён: " + path);
+            }
+            return unpack(bytes.position(HEADER_SIZE), header.width(), header.height());
+        }
+    }
+
+    private static void ensureHasHeader(long size, Path path) throws IOException {
+        if (size < HEADER_SIZE) {
+            throw new MazeFormatException("Файл слишком короткий для лабиринта " + EXTENSION + ": " + path);
+        }
+    }
+
+    private static MazeFileHeader parseHeader(ByteBuffer bytes, Path path) throws IOException {
+        for (byte expected : MAGIC) {
+            if (bytes.get() != expected) {
+                throw new MazeFormatException("Файл не является лабиринтом " + EXTENSION + ": " + path);
+            }
+        }
+        byte version = bytes.get();
+        if (version != VERSION) {
+            throw new MazeFormatException("Неподдерживаемая версия формата " + EXTENSION + ": " + version);
+        }
+        int width = bytes.getInt();
+        int height = bytes.getInt();
+        int generator = bytes.get();
+        int flags = bytes.get();
+        long seed = bytes.getLong();
+        int start = bytes.getInt();
+        int end = bytes.getInt();
+        if (width < 0 || height < 0 || generator < NONE || generator >= GENERATORS.length) {
+            throw new MazeFormatException("Повреждённый заголовок лабиринта: " + path);
+        }
+        long cells = (long) width * height;
+        if (cells > Integer.MAX_VALUE) {
+            throw new MazeFormatException(
+                    "Размер лабиринта " + width + "x" + height + " в заголовке слишком большой: " + path);
+        }
+        if (!isCellOrNone(start, cells) || !isCellOrNone(end, cells)) {
+            throw new MazeFormatException("Старт или финиш в заголовке вне лабиринта: " + path);
+        }
+        return new MazeFileHeader(
+                width,
+                height,
+                generator == NONE ? null : GENERATORS[generator],
+                (flags & SEED_PRESENT) != 0 ? seed : null,
+                toPoint(start, width),
+                toPoint(end, width));
+    }
+
+    private static Maze unpack(ByteBuffer bytes, int width, int height) {
+        Maze maze = new Maze(width, height);
+        byte[] row = new byte[width];
+        long bits = 0;
+        int bitCount = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (bitCount < BITS_PER_CELL) {
+                    bits |= (long) (bytes.get() & 0xFF) << bitCount;
+                    bitCount += Byte.SIZE;
+                }
+                row[x] = (byte) (bits & CELL_MASK);
+                bits >>>= BITS_PER_CELL;
+                bitCount -= BITS_PER_CELL;
+            }
+            maze.setRow(y, row);
+        }
+        return maze;
+    }
+
+    private static long packedSize(int width, int height) {
+        return ((long) width * height * BITS_PER_CELL + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    private static boolean isCellOrNone(int index, long cells) {
+        return index == NONE || index >= 0 && index < cells;
+    }
+
+    private static Point toPoint(int index, int width) {
+        return index == NONE ? null : new Point(index % width, index / width);
+    }
+
+    /**
+     * Построчная запись файла {@code .mzb}. Заголовок пишется сразу, строки упаковываются в буфер и сбрасываются в файл
+     * блоками, так что потоковый генератор может писать лабиринт, не держа его в памяти.
+     */
+    static final class RowWriter implements RowSink, Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] ordinals;
+        private long bits;
+        private int bitCount;
+
+        RowWriter(Path path, int width, int height, GeneratorType generator, Long seed, int start, int end)
+                throws IOException {
+            this.channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.ordinals = new byte[width];
+            buffer.put(MAGIC)
+                    .put(VERSION)
+                    .putInt(width)
+                    .putInt(height)
+                    .put((byte) (generator == null ? NONE : generator.ordinal()))
+                    .put((byte) (seed == null ? 0 : SEED_PRESENT))
+                    .putLong(seed == null ? 0 : seed)
+                    .putInt(start)
+                    .putInt(end);
+        }
+
+        @Override
+        public void accept(int y, CellType[] row) throws IOException {
+            for (int x = 0; x < row.length; x++) {
+                ordinals[x] = (byte) row[x].ordinal();
+            }
+            writeRow(ordinals);
+        }
+
+        void writeRow(byte[] row) throws IOException {
+            for (byte cell : row) {
+                bits |= (long) cell << bitCount;
+                bitCount += BITS_PER_CELL;
+                if (bitCount >= Byte.SIZE) {
+                    if (!buffer.hasRemaining()) {
+                        flush();
+                    }
+                    buffer.put((byte) bits);
+                    bits >>>= Byte.SIZE;
+                    bitCount -= Byte.SIZE;
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                if (bitCount > 0) {
+                    if (!buffer.hasRemaining()) {
+                        flush();
+                    }
+                    buffer.put((byte) bits);
+                    bitCount = 0;
+                }
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package academy.maze.commands;
+
+import academy.maze.dto.Maze;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Кэш разобранных лабиринтов. Ключ — абсолютный путь к файлу, его размер и время изменения, так что изменённый файл не
+ * совпадёт со старой записью и будет разобран заново, а старая запись для того же пути сразу удаляется. Вес записи —
+ * число клеток лабиринта, то есть байты массива клеток; при превышении общего веса Caffeine вытесняет редко
+ * используемые записи. Список проходимых клеток снимка (4 байта на клетку) в вес не входит: он строится лениво и только
+ * для лабиринтов, у которых его спросили, — при случайном выборе старта в интерактивном режиме.
+ *
+ * <p>Кэш хранит неизменяемые снимки ({@link Maze#snapshot()}) и выдаёт их без копирования: один загруженный лабиринт
+ * читают все запросы, в том числе параллельные. Кому нужно изменить лабиринт, берёт {@link Maze#copy()}.
+ */
+public final class MazeCache {
+
+    /** Вес кэша по умолчанию — 256 МиБ клеток. */
+    public static final long DEFAULT_MAX_CELLS = 256L << 20;
+
+    private final Cache<Key, Maze> cache;
+
+    /** @param maxCells наибольшее суммарное число клеток закэшированных лабиринтов. */
+    public MazeCache(long maxCells) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxCells)
+                .weigher((Key key, Maze maze) -> Math.max(1, maze.size()))
+                .recordStats()
+                .build();
+    }
+
+    /** Загрузчик лабиринта из найденного файла. */
+    @FunctionalInterface
+    interface Loader {
+        Maze load(Path file) throws IOException;
+    }
+
+    /** Ключ записи: файл с размером и временем изменения на момент разбора. */
+    private record Key(Path file, long size, FileTime modified) {}
+
+    /** Снимок лабиринта из кэша или из {@code loader}, если файла нет в кэше или он изменился. */
+    Maze get(Path file, Loader loader) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+        Key key = new Key(absolute, attributes.size(), attributes.lastModifiedTime());
+        boolean[] loaded = {false};
+        Maze maze;
+        try {
+            maze = cache.get(key, k -> {
+                loaded[0] = true;
+                try {
+                    return loader.load(file).snapshot();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (loaded[0]) {
+            cache.asMap().keySet().removeIf(stale -> stale.file().equals(absolute) && !stale.equals(key));
+        }
+        return maze;
+    }
+
+    /** Счётчики попаданий, промахов и вытеснений. */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /** Число лабиринтов в кэше. */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -1,13 +1,22 @@
 package academy.maze.commands;
 
 import academy.maze.dto.CellType;
+import academy.maze.dto.GeneratorType;
 import academy.maze.dto.Maze;
+import academy.maze.dto.MazeFileHeader;
 import academy.maze.dto.Point;
+import academy.maze.generator.StreamingGenerator;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -21,28 +30,68 @@ public class MazeCommands {
     private static final List<Path> SEARCH_ROOTS =
             List.of(Path.of(""), Path.of("src", "main", "resources"), Path.of("tests"), Path.of(TESTS));
 
+    private static final MazeCache MAZE_CACHE = new MazeCache(MazeCache.DEFAULT_MAX_CELLS);
+
+    /**
+     * Загружает лабиринт из файла. Файлы с расширением {@code .mzb} читаются в двоичном формате
+     * ({@link MazeBinaryFormat}), остальные — как текст в обычной или unicode-записи: файл отображается в память и
+     * разбирается без промежуточных строк ({@link MazeParser}).
+     *
+     * <p>Разобранные лабиринты хранятся в {@link #mazeCache()}: повторная загрузка неизменённого файла возвращает тот
+     * же экземпляр без разбора.
+     *
+     * @return неизменяемый снимок лабиринта; для изменений используйте {@link Maze#copy()}.
+     * @throws NoSuchFileException если файл не найден.
+     * @throws MazeFormatException если файл пуст или повреждён.
+     */
     public static Maze loadMazeFromFile(String filePath) throws IOException {
-        Path path = findFile(filePath);
-        List<String> lines = Files.readAllLines(path);
-        if (lines.isEmpty()) {
-            throw new IOException("Файл пуст: " + path);
-        }
-        int height = lines.size();
-        int width = lines.getFirst().length();
-
-        CellType[][] grid = new CellType[height][width];
-
-        for (int y = 0; y < height; y++) {
-            String line = lines.get(y);
-            for (int x = 0; x < width; x++) {
-                if (x < line.length()) {
-                    grid[y][x] = CellType.fromChar(line.charAt(x));
-                } else {
-                    grid[y][x] = CellType.EMPTY;
-                }
-            }
+        return loadMazeFromFile(findFile(filePath));
+    }
+
+    /**
+     * Загружает лабиринт ровно из этого файла, не ища его в других каталогах; в остальном как
+     * {@link #loadMazeFromFile(String)}.
+     */
+    public static Maze loadMazeFromFile(Path file) throws IOException {
+        Maze maze = MAZE_CACHE.get(file, MazeCommands::parseMazeFile);
+        log.debug("Кэш лабиринтов: {}", MAZE_CACHE.stats());
+        return maze;
+    }
+
+    /** Кэш разобранных лабиринтов, общий для всех загрузок. */
+    public static MazeCache mazeCache() {
+        return MAZE_CACHE;
+    }
+
+    private static Maze parseMazeFile(Path file) throws IOException {
+        if (!MazeBinaryFormat.isBinary(file.toString())) {
+            return MazeParser.parse(file);
         }
-        return new Maze(grid);
+        MazeFileHeader header = MazeBinaryFormat.readHeader(file);
+        log.info(
+                "Лабиринт {}x{}, генератор: {}, зерно: {}",
+                header.width(),
+                header.height(),
+                header.generator(),
+                header.seed());
+        return MazeBinaryFormat.read(file);
+    }
+
+    /**
+     * Читает только заголовок двоичного файла лабиринта, не загружая клетки.
+     *
+     * @throws IllegalArgumentException если файл не в формате {@code .mzb}.
+     */
+    public static MazeFileHeader loadMazeHeader(String filePath) throws IOException {
+        if (!MazeBinaryFormat.isBinary(filePath)) {
+            throw new IllegalArgumentException("Заголовок есть только у файлов " + MazeBinaryFormat.EXTENSION);
+        }
+        return MazeBinaryFormat.readHeader(findFile(filePath));
+    }
+
+    /** Читает текстовый файл построчно, ищет его там же, где и файлы лабиринтов. */
+    public static List<String> loadLinesFromFile(String filePath) throws IOException {
+        return Files.readAllLines(findFile(filePath), StandardCharsets.UTF_8);
     }
 
     private static Path findFile(String rawPath) throws IOException {
@@ -68,11 +117,22 @@ public class MazeCommands {
             }
         }
 
-        throw new IOException("Файл лабиринта не найден: " + rawPath + " (искали в: " + SEARCH_ROOTS + ")");
+        throw new NoSuchFileException(rawPath, null, "файл лабиринта не найден (искали в: " + SEARCH_ROOTS + ")");
     }
 
     public static void saveMazeToFile(Maze maze, String filename, boolean useUnicode) throws IOException {
-        writeGridToFile(maze.cells(), filename, useUnicode);
+        saveMazeToFile(maze, filename, useUnicode, null, null);
+    }
+
+    /**
+     * Сохраняет лабиринт; формат выбирается по расширению файла: {@code .mzb} — двоичный, остальные — текст.
+     *
+     * @param generator алгоритм генерации для заголовка двоичного файла или {@code null}; текст его не хранит.
+     * @param seed зерно генерации для заголовка двоичного файла или {@code null}; текст его не хранит.
+     */
+    public static void saveMazeToFile(
+            Maze maze, String filename, boolean useUnicode, GeneratorType generator, Long seed) throws IOException {
+        writeGridToFile(maze, PathOverlay.NONE, filename, useUnicode, generator, seed);
     }
 
     private static String fixPathForDocker(String path) {
@@ -86,30 +146,19 @@ public class MazeCommands {
     }
 
     public static Point findCellByType(Maze maze, CellType targetType) {
-        CellType[][] grid = maze.cells();
-        for (int y = 0; y < grid.length; y++) {
-            for (int x = 0; x < grid[y].length; x++) {
-                if (grid[y][x] == targetType) {
-                    return new Point(x, y);
-                }
-            }
+        int cell = maze.firstIndexOf(targetType);
+        if (cell < 0) {
+            throw new IllegalArgumentException("Клетка типа " + targetType + " не найдена в лабиринте");
         }
-        throw new IllegalArgumentException("Клетка типа " + targetType + " не найдена в лабиринте");
+        return new Point(cell % maze.width(), cell / maze.width());
     }
 
     public static Point validateOrFindStartPoint(Maze maze, Point suggestedStart) {
-        CellType[][] grid = maze.cells();
-        int width = grid[0].length;
-        int height = grid.length;
-
-        int x = suggestedStart.x();
-        int y = suggestedStart.y();
-
-        if (x < 0 || y < 0 || x >= width || y >= height) {
+        if (!maze.contains(suggestedStart.x(), suggestedStart.y())) {
             throw new IllegalArgumentException("Начальная точка вне границ лабиринта");
         }
 
-        if (grid[y][x] != CellType.WALL) {
+        if (maze.get(suggestedStart) != CellType.WALL) {
             return suggestedStart;
         }
 
@@ -119,9 +168,8 @@ public class MazeCommands {
     }
 
     private static Point findNearestPassableCell(Maze maze, Point start, String pointName) {
-        CellType[][] grid = maze.cells();
-        int width = grid[0].length;
-        int height = grid.length;
+        int width = maze.width();
+        int height = maze.height();
 
         boolean[][] visited = new boolean[height][width];
         Queue<Point> queue = new LinkedList<>();
@@ -138,7 +186,7 @@ public class MazeCommands {
                 int ny = current.y() + dir[1];
 
                 if (nx >= 0 && nx < width && ny >= 0 && ny < height && !visited[ny][nx]) {
-                    if (grid[ny][nx] != CellType.WALL) {
+                    if (maze.get(nx, ny) != CellType.WALL) {
                         System.out.println(pointName + " перемещена в (" + nx + ", " + ny + ")");
                         return new Point(nx, ny);
                     }
@@ -156,73 +204,140 @@ public class MazeCommands {
     }
 
     public static void printMaze(Maze maze, boolean useUnicode) {
-        printGrid(maze.cells(), useUnicode);
+        printGrid(maze, useUnicode);
     }
 
+    /**
+     * Печатает лабиринт с путём, наложенным при выводе; первая и последняя точки пути показываются как старт и финиш.
+     * Лабиринт не копируется и не меняется.
+     */
     public static void printMazeWithPath(Maze maze, List<Point> path, boolean useUnicode) {
-        CellType[][] gridWithPath = createGridWithPath(maze, path);
-        printGrid(gridWithPath, useUnicode);
+        printGrid(maze, PathOverlay.of(path, maze), useUnicode);
     }
 
-    public static void printGrid(CellType[][] grid, boolean useUnicode) {
-        for (CellType[] row : grid) {
-            for (CellType cell : row) {
-                if (useUnicode) {
-                    System.out.print(cell.getUnicode());
-                } else {
-                    System.out.print(cell.getSymbol());
-                }
-            }
-            System.out.println();
-        }
+    public static void printGrid(Maze maze, boolean useUnicode) {
+        printGrid(maze, PathOverlay.NONE, useUnicode);
     }
 
-    private static CellType[][] copyGrid(CellType[][] original) {
-        CellType[][] copy = new CellType[original.length][];
-        for (int i = 0; i < original.length; i++) {
-            copy[i] = original[i].clone();
+    /** Печатает лабиринт в консоль блоками строк через {@link MazeRenderer}. */
+    private static void printGrid(Maze maze, PathOverlay overlay, boolean useUnicode) {
+        try {
+            writeGrid(maze, overlay, System.out, useUnicode);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось вывести лабиринт", e);
         }
-        return copy;
+        System.out.flush();
+    }
+
+    /** Пишет лабиринт текстом в поток; поток не закрывается. */
+    public static void writeMaze(Maze maze, OutputStream out, boolean useUnicode) throws IOException {
+        writeGrid(maze, PathOverlay.NONE, out, useUnicode);
+    }
+
+    /** Пишет лабиринт с наложенным путём текстом в поток, как {@link #saveSolutionToFile}; поток не закрывается. */
+    public static void writeSolution(Maze maze, List<Point> path, OutputStream out, boolean useUnicode)
+            throws IOException {
+        writeGrid(maze, PathOverlay.of(path, maze), out, useUnicode);
+    }
+
+    private static void writeGrid(Maze maze, PathOverlay overlay, OutputStream out, boolean useUnicode)
+            throws IOException {
+        MazeRenderer renderer = new MazeRenderer(Channels.newChannel(out), maze.width(), useUnicode);
+        renderer.write(maze, overlay);
+        renderer.flush();
     }
 
+    /**
+     * Сохраняет лабиринт с путём. Путь накладывается на строки при записи, так что лабиринт не копируется и не
+     * меняется, а дополнительная память — O(длины пути). Формат выбирается по расширению файла.
+     */
     public static void saveSolutionToFile(Maze maze, List<Point> path, String filename, boolean useUnicode)
             throws IOException {
-        CellType[][] grid = createGridWithPath(maze, path);
-        writeGridToFile(grid, filename, useUnicode);
+        writeGridToFile(maze, PathOverlay.of(path, maze), filename, useUnicode, null, null);
     }
 
-    private static void writeGridToFile(CellType[][] grid, String filename, boolean useUnicode) throws IOException {
-        String fixedFilename = fixPathForDocker(filename);
-        Path path = Path.of(fixedFilename);
+    public static void streamMazeToFile(
+            StreamingGenerator generator, int width, int height, String filename, boolean useUnicode)
+            throws IOException {
+        streamMazeToFile(generator, width, height, filename, useUnicode, null, null);
+    }
 
-        Path parent = path.getParent();
-        if (parent != null && !Files.exists(parent)) {
-            Files.createDirectories(parent);
+    /**
+     * Генерирует лабиринт потоковым генератором и пишет каждую строку в файл сразу по готовности, не собирая лабиринт в
+     * памяти. Формат выбирается по расширению, как в {@link #saveMazeToFile(Maze, String, boolean, GeneratorType,
+     * Long)}.
+     */
+    public static void streamMazeToFile(
+            StreamingGenerator generator,
+            int width,
+            int height,
+            String filename,
+            boolean useUnicode,
+            GeneratorType type,
+            Long seed)
+            throws IOException {
+        if (MazeBinaryFormat.isBinary(filename)) {
+            try (MazeBinaryFormat.RowWriter writer = new MazeBinaryFormat.RowWriter(
+                    prepareOutputPath(filename),
+                    width,
+                    height,
+                    type,
+                    seed,
+                    MazeBinaryFormat.NONE,
+                    MazeBinaryFormat.NONE)) {
+                generator.generate(width, height, writer);
+            }
+            return;
+        }
+        try (MazeRenderer renderer = openRenderer(filename, width, useUnicode)) {
+            generator.generate(width, height, renderer);
         }
+    }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            for (CellType[] row : grid) {
-                for (CellType cell : row) {
-                    if (useUnicode) {
-                        writer.write(cell.getUnicode()); // Запишет ▓, ░
-                    } else {
-                        writer.write(cell.getSymbol()); // Запишет #, ' '
-                    }
-                }
+    /** Пишет строки в файл, создавая недостающие каталоги. */
+    public static void saveLinesToFile(List<String> lines, String filename) throws IOException {
+        try (BufferedWriter writer = openWriter(filename)) {
+            for (String line : lines) {
+                writer.write(line);
                 writer.newLine();
             }
         }
     }
 
-    private static CellType[][] createGridWithPath(Maze maze, List<Point> path) {
-        CellType[][] grid = copyGrid(maze.cells());
+    private static void writeGridToFile(
+            Maze maze, PathOverlay overlay, String filename, boolean useUnicode, GeneratorType generator, Long seed)
+            throws IOException {
+        if (MazeBinaryFormat.isBinary(filename)) {
+            MazeBinaryFormat.write(maze, overlay, prepareOutputPath(filename), generator, seed);
+            return;
+        }
+        try (MazeRenderer renderer = openRenderer(filename, maze.width(), useUnicode)) {
+            renderer.write(maze, overlay);
+        }
+    }
 
-        for (Point point : path) {
-            CellType currentType = grid[point.y()][point.x()];
-            if (currentType != CellType.START && currentType != CellType.END) {
-                grid[point.y()][point.x()] = CellType.PATH;
-            }
+    private static MazeRenderer openRenderer(String filename, int width, boolean useUnicode) throws IOException {
+        FileChannel channel = FileChannel.open(
+                prepareOutputPath(filename),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        return new MazeRenderer(channel, width, useUnicode);
+    }
+
+    private static BufferedWriter openWriter(String filename) throws IOException {
+        return Files.newBufferedWriter(prepareOutputPath(filename), StandardCharsets.UTF_8);
+    }
+
+    /** Путь для записи файла с созданными родительскими каталогами. */
+    private static Path prepareOutputPath(String filename) throws IOException {
+        String fixedFilename = fixPathForDocker(filename);
+        Path path = Path.of(fixedFilename);
+
+        Path parent = path.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
         }
-        return grid;
+        return path;
     }
 }
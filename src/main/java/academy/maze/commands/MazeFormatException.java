@@ -0,0 +1,11 @@
+package academy.maze.commands;
+
+import java.io.IOException;
+
+/** Файл лабиринта прочитан, но его содержимое не является лабиринтом: файл пуст, повреждён или в чужом формате. */
+public class MazeFormatException extends IOException {
+
+    public MazeFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,172 @@
+package academy.maze.commands;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.Maze;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Чтение текстового файла лабиринта без промежуточных строк. Файл отображается в память через {@link FileChannel#map},
+ * однобайтовые символы переводятся в клетки по таблице, и клетки пишутся в лабиринт построчно.
+ *
+ * <p>Понимает и обычную запись ({@code #}, {@code O}, ...), и unicode-запись, которую пишет
+ * {@link MazeCommands#saveMazeToFile} с {@code useUnicode}: символы unicode-записи — трёхбайтовые последовательности
+ * UTF-8, их тип берётся из таблицы по коду символа, как и у однобайтовых; остальные многобайтовые символы ищутся через
+ * {@link CellType#fromCodePoint}. Ширина — число символов в первой строке; короткие строки дополняются пустыми
+ * клетками, лишние символы длинных строк отбрасываются.
+ */
+final class MazeParser {
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte EMPTY = (byte) CellType.EMPTY.ordinal();
+
+    /** Номер типа клетки для каждого однобайтового символа. */
+    private static final byte[] ASCII_TYPES = new byte[128];
+
+    /** Наименьший код трёхбайтового символа unicode-записи; с него начинается {@link #THREE_BYTE_TYPES}. */
+    private static final int THREE_BYTE_BASE;
+
+    /** Номер типа клетки для трёхбайтовых символов от {@link #THREE_BYTE_BASE} до самого большого из известных. */
+    private static final byte[] THREE_BYTE_TYPES;
+
+    static {
+        for (int b = 0; b < ASCII_TYPES.length; b++) {
+            ASCII_TYPES[b] = (byte) CellType.fromCodePoint(b).ordinal();
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (CellType type : CellType.values()) {
+            int codePoint = type.getUnicode().codePointAt(0);
+            if (codePoint >= 0x800 && codePoint <= 0xFFFF) {
+                min = Math.min(min, codePoint);
+                max = Math.max(max, codePoint);
+            }
+        }
+        THREE_BYTE_BASE = min;
+        THREE_BYTE_TYPES = new byte[max >= min ? max - min + 1 : 0];
+        for (int i = 0; i < THREE_BYTE_TYPES.length; i++) {
+            THREE_BYTE_TYPES[i] = (byte) CellType.fromCodePoint(min + i).ordinal();
+        }
+    }
+
+    private MazeParser() {}
+
+    static Maze parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                throw new MazeFormatException("Файл пуст: " + path);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new MazeFormatException("Файл лабиринта слишком большой: " + path);
+            }
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /** Разбирает лабиринт из байтов UTF-8 от начала до конца буфера. */
+    static Maze parse(ByteBuffer bytes) {
+        int end = bytes.limit();
+        int height = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes.get(i) == NEW_LINE) {
+                height++;
+            }
+        }
+        if (bytes.get(end - 1) != NEW_LINE) {
+            height++;
+        }
+
+        int width = 0;
+        int firstLineEnd = lineEnd(bytes, 0);
+        for (int i = 0; i < firstLineEnd; i++) {
+            if ((bytes.get(i) & 0xC0) != 0x80) {
+                width++;
+            }
+        }
+
+        Maze maze = new Maze(width, height);
+        byte[] row = new byte[width];
+        int position = 0;
+        for (int y = 0; y < height; y++) {
+            int lineEnd = lineEnd(bytes, position);
+            decodeLine(bytes, position, lineEnd, row);
+            maze.setRow(y, row);
+            position = Math.min(end, skipLineBreak(bytes, lineEnd));
+        }
+        return maze;
+    }
+
+    /** Конец строки без перевода строки и {@code \r} перед ним. */
+    private static int lineEnd(ByteBuffer bytes, int from) {
+        int i = from;
+        while (i < bytes.limit() && bytes.get(i) != NEW_LINE) {
+            i++;
+        }
+        if (i > from && bytes.get(i - 1) == CARRIAGE_RETURN) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int skipLineBreak(ByteBuffer bytes, int lineEnd) {
+        int i = lineEnd;
+        if (i < bytes.limit() && bytes.get(i) == CARRIAGE_RETURN) {
+            i++;
+        }
+        return i + 1;
+    }
+
+    private static void decodeLine(ByteBuffer bytes, int from, int to, byte[] row) {
+        int x = 0;
+        int i = from;
+        while (i < to && x < row.length) {
+            int lead = bytes.get(i);
+            if (lead >= 0) {
+                row[x++] = ASCII_TYPES[lead];
+                i++;
+                continue;
+            }
+            int length = sequenceLength(lead);
+            if (length == 3 && i + 3 <= to) {
+                int codePoint = (lead & 0x0F) << 12 | (bytes.get(i + 1) & 0x3F) << 6 | bytes.get(i + 2) & 0x3F;
+                int slot = codePoint - THREE_BYTE_BASE;
+                row[x++] = slot >= 0 && slot < THREE_BYTE_TYPES.length ? THREE_BYTE_TYPES[slot] : EMPTY;
+                i += 3;
+                continue;
+            }
+            if (length == 0 || i + length > to) {
+                row[x++] = EMPTY;
+                i++;
+                continue;
+            }
+            int codePoint = lead & (0x3F >> (length - 1));
+            for (int k = 1; k < length; k++) {
+                codePoint = (codePoint << 6) | (bytes.get(i + k) & 0x3F);
+            }
+            row[x++] = (byte) CellType.fromCodePoint(codePoint).ordinal();
+            i += length;
+        }
+        while (x < row.length) {
+            row[x++] = EMPTY;
+        }
+    }
+
+    /** Длина последовательности UTF-8 по первому байту или 0, если байт не может её начинать. */
+    private static int sequenceLength(int lead) {
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        }
+        if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        }
+        if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,112 @@
+package academy.maze.commands;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.Maze;
+import academy.maze.generator.RowSink;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Вывод лабиринта текстом в канал. Байты символа каждого типа клетки в обычной и unicode-записи (UTF-8) кодируются один
+ * раз; строки лабиринта собираются в общий блок {@code byte[]} и уходят в канал целыми блоками по {@value #BLOCK_SIZE}
+ * байт и больше, а не по клетке.
+ *
+ * <p>{@link #close()} закрывает канал; для консоли, которую закрывать нельзя, достаточно {@link #flush()}.
+ */
+final class MazeRenderer implements RowSink, Closeable {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final CellType[] TYPES = CellType.values();
+    private static final byte[][] SYMBOLS = encode(false);
+    private static final byte[][] UNICODE = encode(true);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final WritableByteChannel channel;
+    private final byte[][] encodings;
+    private final byte[] ordinals;
+    private final byte[] block;
+    private final int rowBytes;
+    private int length;
+
+    /**
+     * @param channel канал вывода.
+     * @param width ширина лабиринта.
+     * @param useUnicode писать unicode-символы вместо обычных.
+     */
+    MazeRenderer(WritableByteChannel channel, int width, boolean useUnicode) {
+        this.channel = channel;
+        this.encodings = useUnicode ? UNICODE : SYMBOLS;
+        this.ordinals = new byte[width];
+        int maxSymbolBytes = 0;
+        for (byte[] encoding : encodings) {
+            maxSymbolBytes = Math.max(maxSymbolBytes, encoding.length);
+        }
+        this.rowBytes = Math.multiplyExact(width, maxSymbolBytes) + LINE_SEPARATOR.length;
+        this.block = new byte[Math.max(BLOCK_SIZE, rowBytes)];
+    }
+
+    private static byte[][] encode(boolean useUnicode) {
+        byte[][] encodings = new byte[TYPES.length][];
+        for (CellType type : TYPES) {
+            String text = useUnicode ? type.getUnicode() : String.valueOf(type.getSymbol());
+            encodings[type.ordinal()] = text.getBytes(StandardCharsets.UTF_8);
+        }
+        return encodings;
+    }
+
+    /** Выводит лабиринт с наложенным поверх путём. */
+    void write(Maze maze, PathOverlay overlay) throws IOException {
+        for (int y = 0; y < maze.height(); y++) {
+            maze.getRow(y, ordinals);
+            overlay.apply(y, maze.width(), ordinals);
+            writeRow(ordinals);
+        }
+    }
+
+    @Override
+    public void accept(int y, CellType[] row) throws IOException {
+        for (int x = 0; x < row.length; x++) {
+            ordinals[x] = (byte) row[x].ordinal();
+        }
+        writeRow(ordinals);
+    }
+
+    /**
+     * Добавляет строку из порядковых номеров {@link CellType}; блок уходит в канал, когда следующая строка не влезет.
+     */
+    void writeRow(byte[] row) throws IOException {
+        if (block.length - length < rowBytes) {
+            flush();
+        }
+        int position = length;
+        for (byte cell : row) {
+            byte[] encoding = encodings[cell];
+            if (encoding.length == 1) {
+                block[position++] = encoding[0];
+            } else {
+                System.arraycopy(encoding, 0, block, position, encoding.length);
+                position += encoding.length;
+            }
+        }
+        System.arraycopy(LINE_SEPARATOR, 0, block, position, LINE_SEPARATOR.length);
+        length = position + LINE_SEPARATOR.length;
+    }
+
+    void flush() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(block, 0, length);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        length = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+}
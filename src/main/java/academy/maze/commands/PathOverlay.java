@@ -0,0 +1,81 @@
+package academy.maze.commands;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.Maze;
+import academy.maze.dto.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Клетки пути, которые при выводе показываются как {@link CellType#PATH} поверх лабиринта. Сам лабиринт не меняется и
+ * не копируется: хранится только отсортированный массив индексов клеток пути, то есть O(длины пути) памяти.
+ *
+ * <p>Первая и последняя клетки пути показываются как {@link CellType#START} и {@link CellType#END}: старт и финиш
+ * запроса в лабиринт не записываются, а накладываются здесь. Клетки START и END, которые уже есть в лабиринте, остаются
+ * собой.
+ */
+final class PathOverlay {
+
+    private static final int NO_CELL = -1;
+
+    static final PathOverlay NONE = new PathOverlay(new int[0], NO_CELL, NO_CELL);
+
+    private static final byte PATH = (byte) CellType.PATH.ordinal();
+    private static final byte START = (byte) CellType.START.ordinal();
+    private static final byte END = (byte) CellType.END.ordinal();
+
+    private final int[] cells;
+    private final int start;
+    private final int end;
+
+    private PathOverlay(int[] cells, int start, int end) {
+        this.cells = cells;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** @throws IllegalArgumentException если точка пути вне лабиринта. */
+    static PathOverlay of(List<Point> path, Maze maze) {
+        int[] cells = new int[path.size()];
+        for (int i = 0; i < cells.length; i++) {
+            Point point = path.get(i);
+            if (!maze.contains(point.x(), point.y())) {
+                throw new IllegalArgumentException("Точка пути вне лабиринта: (" + point.x() + ", " + point.y() + ")");
+            }
+            cells[i] = maze.index(point.x(), point.y());
+        }
+        int start = cells.length == 0 ? NO_CELL : cells[0];
+        int end = cells.length == 0 ? NO_CELL : cells[cells.length - 1];
+        Arrays.sort(cells);
+        return new PathOverlay(cells, start, end);
+    }
+
+    /** Индекс клетки, показываемой как START, или {@code -1}, если пути нет. */
+    int start() {
+        return start;
+    }
+
+    /** Индекс клетки, показываемой как END, или {@code -1}, если пути нет. */
+    int end() {
+        return end;
+    }
+
+    /** Накладывает путь на строку {@code y}, заданную порядковыми номерами {@link CellType}. */
+    void apply(int y, int width, byte[] row) {
+        int rowStart = y * width;
+        int i = Arrays.binarySearch(cells, rowStart);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        for (; i < cells.length && cells[i] < rowStart + width; i++) {
+            int x = cells[i] - rowStart;
+            if (cells[i] == start) {
+                row[x] = START;
+            } else if (cells[i] == end) {
+                row[x] = END;
+            } else if (row[x] != START && row[x] != END) {
+                row[x] = PATH;
+            }
+        }
+    }
+}
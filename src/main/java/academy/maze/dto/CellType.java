@@ -1,6 +1,5 @@
 package academy.maze.dto;
 
-import java.util.Arrays;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -20,10 +19,44 @@ public enum CellType {
     private final char symbol;
     private final String unicode;
 
+    private static final CellType[] TYPES = values();
+    private static final int ASCII_LIMIT = 128;
+
+    /** Тип по однобайтовому символу; при совпадении символов выигрывает тип, объявленный раньше. */
+    private static final CellType[] BY_ASCII = new CellType[ASCII_LIMIT];
+
+    static {
+        for (CellType type : TYPES) {
+            for (int codePoint : new int[] {type.symbol, type.unicode.codePointAt(0)}) {
+                if (codePoint < ASCII_LIMIT && BY_ASCII[codePoint] == null) {
+                    BY_ASCII[codePoint] = type;
+                }
+            }
+        }
+        for (int codePoint = 0; codePoint < ASCII_LIMIT; codePoint++) {
+            if (BY_ASCII[codePoint] == null) {
+                BY_ASCII[codePoint] = EMPTY;
+            }
+        }
+    }
+
     public static CellType fromChar(char symbol) {
-        return Arrays.stream(values())
-                .filter(type -> type.symbol == symbol)
-                .findFirst()
-                .orElse(EMPTY);
+        return fromCodePoint(symbol);
+    }
+
+    /**
+     * Тип клетки по символу в обычной или unicode-записи; неизвестные символы считаются пустой клеткой. Однобайтовые
+     * символы ищутся по таблице, остальные — перебором восьми типов, без упаковки в {@link Integer}.
+     */
+    public static CellType fromCodePoint(int codePoint) {
+        if (codePoint >= 0 && codePoint < ASCII_LIMIT) {
+            return BY_ASCII[codePoint];
+        }
+        for (CellType type : TYPES) {
+            if (type.unicode.codePointAt(0) == codePoint) {
+                return type;
+            }
+        }
+        return EMPTY;
     }
 }
@@ -7,7 +7,10 @@ import lombok.AllArgsConstructor;
 public enum GeneratorType {
     PRIM,
     DFS,
-    BINARY;
+    BINARY,
+    ELLER,
+    KRUSKAL,
+    SIDEWINDER;
 
     public static GeneratorType find(String name) {
         return Arrays.stream(values())
@@ -1,8 +1,419 @@
 package academy.maze.dto;
 
+import java.util.Arrays;
+
 /**
  * Лабиринт.
  *
- * @param cells Массив ячеек лабиринта.
+ * <p>Клетки хранятся построчно в одном массиве {@code byte[]}: один байт на клетку, значение байта — порядковый номер
+ * {@link CellType}. Клетка {@code (x, y)} лежит по индексу {@code y * width + x}. Новый лабиринт целиком состоит из
+ * стен, так как {@link CellType#WALL} имеет номер 0.
+ *
+ * <p>Сводка по клеткам — число клеток каждого типа и первая клетка каждого типа — строится лениво одним проходом при
+ * первом обращении и сбрасывается любым изменением. Список проходимых клеток занимает 4 байта на клетку, поэтому
+ * строится отдельно и только при первом обращении к {@link #passableCell(int)}. Пока лабиринт не меняется, запросы к
+ * ним выполняются за O(1). Отдельно ведётся {@link #layoutVersion()}, который меняется, только когда клетка становится
+ * стеной или перестаёт ею быть.
+ *
+ * <p>{@link #terrainHash()} — хэш содержимого, в котором старт и финиш считаются пустыми клетками. Он тоже считается
+ * лениво и сбрасывается только изменениями, которые меняют клетку с учётом этой замены, поэтому расстановка START и END
+ * его не пересчитывает.
+ *
+ * <p>Для записи большого числа клеток, в том числе из нескольких потоков, есть {@link #bulkWriter()}: он пишет прямо в
+ * массив клеток, а версию, сводку и хэш сбрасывает один раз по окончании записи.
+ *
+ * <p>{@link #snapshot()} возвращает неизменяемый снимок: методы изменения у него бросают
+ * {@link UnsupportedOperationException}, а хэш посчитан заранее, так что один снимок можно без копирования читать из
+ * многих потоков — например, решать на нём параллельные запросы. Сводка и список проходимых клеток снимка по-прежнему
+ * строятся лениво: их поля {@code final}, поэтому гонка при первом обращении из нескольких потоков безопасна — в худшем
+ * случае их построят дважды. Старт и финиш запроса в снимок не пишутся: решатели получают их параметрами, а при выводе
+ * они накладываются поверх клеток.
  */
-public record Maze(CellType[][] cells) {}
+public final class Maze {
+
+    private static final CellType[] TYPES = CellType.values();
+    private static final byte WALL = (byte) CellType.WALL.ordinal();
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** Тип клетки для {@link #terrainHash()}: START и END заменены на EMPTY. */
+    private static final byte[] TERRAIN = new byte[TYPES.length];
+
+    static {
+        for (CellType type : TYPES) {
+            CellType terrain = type == CellType.START || type == CellType.END ? CellType.EMPTY : type;
+            TERRAIN[type.ordinal()] = (byte) terrain.ordinal();
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final byte[] grid;
+    private final boolean snapshot;
+    private int layoutVersion;
+    private Summary summary;
+    private PassableCells passable;
+    private long terrainHash;
+    private boolean terrainHashed;
+
+    /**
+     * Создаёт лабиринт, заполненный стенами.
+     *
+     * @param width ширина лабиринта.
+     * @param height высота лабиринта.
+     * @throws NegativeArraySizeException если один из размеров отрицательный.
+     */
+    public Maze(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new NegativeArraySizeException(
+                    "Размер лабиринта не может быть отрицательным: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.grid = new byte[Math.multiplyExact(width, height)];
+        this.snapshot = false;
+    }
+
+    /**
+     * Создаёт лабиринт из двумерного массива клеток. Конструктор совместимости со старым представлением, массив
+     * копируется.
+     *
+     * @param cells массив ячеек лабиринта, строки одинаковой длины.
+     */
+    public Maze(CellType[][] cells) {
+        this(cells.length == 0 ? 0 : cells[0].length, cells.length);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                set(x, y, cells[y][x]);
+            }
+        }
+    }
+
+    private Maze(Maze source, boolean snapshot) {
+        this.width = source.width;
+        this.height = source.height;
+        this.grid = source.grid.clone();
+        this.layoutVersion = source.layoutVersion;
+        this.summary = source.summary;
+        this.passable = source.passable;
+        this.terrainHash = source.terrainHash;
+        this.terrainHashed = source.terrainHashed;
+        this.snapshot = snapshot;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /** Количество клеток лабиринта. */
+    public int size() {
+        return grid.length;
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public CellType get(int x, int y) {
+        return TYPES[grid[index(x, y)]];
+    }
+
+    public CellType get(int index) {
+        return TYPES[grid[index]];
+    }
+
+    public CellType get(Point point) {
+        return get(point.x(), point.y());
+    }
+
+    public boolean isWall(int index) {
+        return grid[index] == WALL;
+    }
+
+    public void set(int x, int y, CellType type) {
+        set(index(x, y), type);
+    }
+
+    public void set(int index, CellType type) {
+        ensureMutable();
+        byte value = (byte) type.ordinal();
+        byte previous = grid[index];
+        if (previous == value) {
+            return;
+        }
+        if ((previous == WALL) != (value == WALL)) {
+            layoutVersion++;
+        }
+        if (terrainHashed && TERRAIN[previous] != TERRAIN[value]) {
+            terrainHashed = false;
+        }
+        grid[index] = value;
+        if (summary != null) {
+            summary = null;
+        }
+        if (passable != null && (previous == WALL) != (value == WALL)) {
+            passable = null;
+        }
+    }
+
+    public void set(Point point, CellType type) {
+        set(point.x(), point.y(), type);
+    }
+
+    /**
+     * Копирует строку клеток в {@code target}.
+     *
+     * @param target массив не короче {@link #width()}, в него пишутся порядковые номера {@link CellType}.
+     */
+    public void getRow(int y, byte[] target) {
+        System.arraycopy(grid, index(0, y), target, 0, width);
+    }
+
+    /**
+     * Записывает строку клеток целиком.
+     *
+     * @param ordinals порядковые номера {@link CellType}, ровно {@link #width()} элементов.
+     * @throws IllegalArgumentException если длина строки не равна ширине или встречен неизвестный номер.
+     */
+    public void setRow(int y, byte[] ordinals) {
+        ensureMutable();
+        if (ordinals.length != width) {
+            throw new IllegalArgumentException(
+                    "Длина строки " + ordinals.length + " не равна ширине лабиринта " + width);
+        }
+        ensureKnownTypes(ordinals, 0, width);
+        System.arraycopy(ordinals, 0, grid, index(0, y), width);
+        invalidate();
+    }
+
+    public void fill(CellType type) {
+        ensureMutable();
+        Arrays.fill(grid, (byte) type.ordinal());
+        invalidate();
+    }
+
+    /**
+     * Писатель для пакетного изменения клеток. Пока он открыт, версия, сводка и хэш не обновляются, а
+     * {@link BulkWriter#close()} сбрасывает их один раз. Лабиринт при этом нельзя читать через сводку или хэш.
+     *
+     * <p>Писатель не пишет в общие поля лабиринта, поэтому потоки могут одновременно писать через него в
+     * непересекающиеся клетки. Закрывать его нужно после того, как все потоки закончили запись и их изменения видны
+     * закрывающему потоку (например, после {@link java.util.concurrent.ForkJoinPool#invoke}).
+     */
+    public BulkWriter bulkWriter() {
+        ensureMutable();
+        return new BulkWriter();
+    }
+
+    private static void ensureKnownTypes(byte[] ordinals, int from, int length) {
+        for (int i = from; i < from + length; i++) {
+            if (ordinals[i] < 0 || ordinals[i] >= TYPES.length) {
+                throw new IllegalArgumentException("Неизвестный тип клетки: " + ordinals[i]);
+            }
+        }
+    }
+
+    private void invalidate() {
+        layoutVersion++;
+        summary = null;
+        passable = null;
+        terrainHashed = false;
+    }
+
+    /**
+     * Версия расположения стен. Меняется при каждом изменении, после которого проходимость какой-то клетки стала
+     * другой; замена одного проходимого типа на другой (например, EMPTY на START) версию не меняет.
+     */
+    public int layoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * 64-битный хэш размеров и клеток лабиринта, в котором START и END считаются пустыми клетками. Два лабиринта с
+     * одинаковыми стенами и покрытиями дают одинаковый хэш, где бы ни стояли старт и финиш. Считается за O(V) при
+     * первом вызове после изменения, дальше — O(1).
+     */
+    public long terrainHash() {
+        if (!terrainHashed) {
+            long hash = (long) width * HASH_MULTIPLIER ^ height;
+            long word = 0;
+            for (int i = 0; i < grid.length; i++) {
+                word = word << Byte.SIZE | TERRAIN[grid[i]];
+                if ((i & 7) == 7) {
+                    hash = mix(hash ^ word);
+                    word = 0;
+                }
+            }
+            terrainHash = mix(hash ^ word);
+            terrainHashed = true;
+        }
+        return terrainHash;
+    }
+
+    private static long mix(long value) {
+        long h = value * HASH_MULTIPLIER;
+        return h ^ (h >>> 29);
+    }
+
+    /** Число клеток заданного типа. */
+    public int count(CellType type) {
+        return summary().counts[type.ordinal()];
+    }
+
+    /**
+     * Индекс первой по порядку строк клетки заданного типа.
+     *
+     * @return индекс клетки или {@code -1}, если клеток такого типа нет.
+     */
+    public int firstIndexOf(CellType type) {
+        return summary().first[type.ordinal()];
+    }
+
+    /** Число проходимых клеток (всех, кроме стен). */
+    public int passableCount() {
+        return grid.length - summary().counts[WALL];
+    }
+
+    /**
+     * Индекс {@code i}-й по порядку строк проходимой клетки.
+     *
+     * @param i номер от 0 до {@link #passableCount()} - 1.
+     */
+    public int passableCell(int i) {
+        PassableCells current = passable;
+        if (current == null) {
+            current = PassableCells.of(grid, passableCount());
+            passable = current;
+        }
+        return current.indices()[i];
+    }
+
+    private Summary summary() {
+        Summary current = summary;
+        if (current == null) {
+            current = new Summary(grid);
+            summary = current;
+        }
+        return current;
+    }
+
+    /** Независимая изменяемая копия лабиринта, в том числе снимка. */
+    public Maze copy() {
+        return new Maze(this, false);
+    }
+
+    /**
+     * Неизменяемый снимок лабиринта. Хэш считается сразу, а сводка и список проходимых клеток, который занимает 4 байта
+     * на клетку, — только при первом обращении. Снимок можно делить между потоками. Для снимка возвращается он сам.
+     */
+    public Maze snapshot() {
+        if (snapshot) {
+            return this;
+        }
+        Maze result = new Maze(this, true);
+        result.terrainHash();
+        return result;
+    }
+
+    /** Является ли лабиринт неизменяемым снимком. */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    private void ensureMutable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("Снимок лабиринта нельзя изменить, используйте copy()");
+        }
+    }
+
+    /**
+     * Клетки лабиринта в виде двумерного массива. Адаптер для кода, написанного под старое представление: каждый вызов
+     * строит новую копию, изменения в ней не попадают в лабиринт.
+     *
+     * @return массив ячеек лабиринта {@code [y][x]}.
+     * @deprecated используйте {@link #get(int, int)} и {@link #set(int, int, CellType)}.
+     */
+    @Deprecated
+    public CellType[][] cells() {
+        CellType[][] cells = new CellType[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                cells[y][x] = get(x, y);
+            }
+        }
+        return cells;
+    }
+
+    /** Запись клеток без учёта версий, см. {@link #bulkWriter()}. */
+    public final class BulkWriter implements AutoCloseable {
+
+        private BulkWriter() {}
+
+        public void set(int x, int y, CellType type) {
+            grid[index(x, y)] = (byte) type.ordinal();
+        }
+
+        /**
+         * Записывает отрезок строки.
+         *
+         * @param x столбец первой записываемой клетки.
+         * @param ordinals порядковые номера {@link CellType}.
+         * @param from индекс первого номера в {@code ordinals}.
+         * @param length число клеток.
+         * @throws IllegalArgumentException если отрезок выходит за строку или встречен неизвестный номер.
+         */
+        public void setRow(int x, int y, byte[] ordinals, int from, int length) {
+            if (x < 0 || length < 0 || x + length > width) {
+                throw new IllegalArgumentException(
+                        "Отрезок [" + x + ", " + (x + length) + ") выходит за строку ширины " + width);
+            }
+            ensureKnownTypes(ordinals, from, length);
+            System.arraycopy(ordinals, from, grid, index(x, y), length);
+        }
+
+        /** Сбрасывает версию, сводку и хэш лабиринта. */
+        @Override
+        public void close() {
+            invalidate();
+        }
+    }
+
+    /** Сводка по клеткам, снимок на момент построения. */
+    private static final class Summary {
+
+        private final int[] counts = new int[TYPES.length];
+        private final int[] first = new int[TYPES.length];
+
+        Summary(byte[] grid) {
+            Arrays.fill(first, -1);
+            for (int i = 0; i < grid.length; i++) {
+                int type = grid[i];
+                if (counts[type]++ == 0) {
+                    first[type] = i;
+                }
+            }
+        }
+    }
+
+    /** Индексы проходимых клеток по порядку строк, снимок на момент построения. */
+    private record PassableCells(int[] indices) {
+
+        static PassableCells of(byte[] grid, int count) {
+            int[] indices = new int[count];
+            int next = 0;
+            for (int i = 0; i < grid.length; i++) {
+                if (grid[i] != WALL) {
+                    indices[next++] = i;
+                }
+            }
+            return new PassableCells(indices);
+        }
+    }
+}
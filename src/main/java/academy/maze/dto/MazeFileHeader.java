@@ -0,0 +1,13 @@
+package academy.maze.dto;
+
+/**
+ * Заголовок двоичного файла лабиринта.
+ *
+ * @param width ширина лабиринта.
+ * @param height высота лабиринта.
+ * @param generator алгоритм, которым лабиринт сгенерирован, или {@code null}, если он неизвестен.
+ * @param seed зерно генерации или {@code null}, если оно неизвестно.
+ * @param start клетка старта или {@code null}, если её нет.
+ * @param end клетка финиша или {@code null}, если её нет.
+ */
+public record MazeFileHeader(int width, int height, GeneratorType generator, Long seed, Point start, Point end) {}
@@ -4,7 +4,12 @@ import java.util.Arrays;
 
 public enum SolverType {
     ASTAR,
-    DIJKSTRA;
+    DIJKSTRA,
+    DIAL,
+    BFS,
+    BIBFS,
+    JPS,
+    TREE;
 
     public static SolverType find(String name) {
         return Arrays.stream(values())
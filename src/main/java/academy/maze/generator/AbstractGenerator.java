@@ -1,11 +1,10 @@
 package academy.maze.generator;
 
 import academy.maze.dto.CellType;
-import academy.maze.dto.Point;
-import java.util.ArrayList;
+import academy.maze.dto.Maze;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import lombok.AllArgsConstructor;
 
 public abstract class AbstractGenerator implements Generator {
@@ -23,12 +22,28 @@ public abstract class AbstractGenerator implements Generator {
         final int dy;
     }
 
-    protected final Random random = new Random();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Размер буфера соседей для {@link #findNeighbours(int, Maze, boolean, int[])}. */
+    protected static final int NEIGHBOUR_COUNT = DIRECTIONS.length;
+
+    protected final SplittableRandom random;
     protected final boolean useCoatings;
     private static final List<CellType> COVERAGE_TYPES = List.of(CellType.GRASS, CellType.SAND, CellType.WATER);
 
+    /** Генератор со случайным зерном: каждый экземпляр получает собственный независимый поток случайных чисел. */
     protected AbstractGenerator(boolean useCoatings) {
+        this(useCoatings, new SplittableRandom());
+    }
+
+    /** Генератор с заданным зерном: одинаковое зерно и размеры дают одинаковый лабиринт. */
+    protected AbstractGenerator(boolean useCoatings, long seed) {
+        this(useCoatings, new SplittableRandom(seed));
+    }
+
+    protected AbstractGenerator(boolean useCoatings, SplittableRandom random) {
         this.useCoatings = useCoatings;
+        this.random = random;
     }
 
     protected int randomOdd(int bound) {
@@ -42,52 +57,94 @@ public abstract class AbstractGenerator implements Generator {
         return random.nextInt(0, max) * 2 + 1;
     }
 
-    protected List<Point> findNeighbours(Point from, int width, int height, CellType[][] maze) {
-        List<Point> neighbours = new ArrayList<>();
-        for (Direction dir : Direction.values()) {
-            int nx = from.x() + dir.dx;
-            int ny = from.y() + dir.dy;
-            if (nx > 0 && nx < width - 1 && ny > 0 && ny < height - 1 && maze[ny][nx] == CellType.WALL) {
-                neighbours.add(new Point(nx, ny));
+    /**
+     * Собирает в {@code buffer} индексы соседних комнат (через одну клетку) внутри рамки лабиринта. Ничего не создаёт:
+     * буфер на {@link #NEIGHBOUR_COUNT} элементов переиспользуется вызывающим.
+     *
+     * @param cell индекс клетки в лабиринте.
+     * @param wall {@code true} — искать ещё не прорубленные комнаты, {@code false} — уже прорубленные.
+     * @return количество найденных соседей в начале буфера.
+     */
+    protected static int findNeighbours(int cell, Maze maze, boolean wall, int[] buffer) {
+        int width = maze.width();
+        int x = cell % width;
+        int y = cell / width;
+        int count = 0;
+        for (Direction dir : DIRECTIONS) {
+            int nx = x + dir.dx;
+            int ny = y + dir.dy;
+            if (nx > 0 && nx < width - 1 && ny > 0 && ny < maze.height() - 1) {
+                int next = cell + dir.dy * width + dir.dx;
+                if (maze.isWall(next) == wall) {
+                    buffer[count++] = next;
+                }
             }
         }
-        return neighbours;
+        return count;
     }
 
-    protected CellType[][] createClearMaze(int width, int height, boolean empty) {
-        if (empty) {
-            return createEmptyMazeWithWalls(width, height);
-        } else {
-            return createAllWallsMaze(width, height);
-        }
+    /** Прорубает стену между двумя соседними комнатами и саму комнату {@code to}. */
+    protected void carveBetween(int from, int to, Maze maze) {
+        maze.set((from + to) >>> 1, getRandomCoverage(useCoatings));
+        maze.set(to, getRandomCoverage(useCoatings));
     }
 
-    private CellType[][] createAllWallsMaze(int width, int height) {
-        CellType[][] maze = new CellType[height][width];
-        for (CellType[] row : maze) {
-            Arrays.fill(row, CellType.WALL);
+    protected Maze createClearMaze(int width, int height, boolean empty) {
+        Maze maze = new Maze(width, height);
+        if (empty) {
+            carveInterior(maze);
         }
         return maze;
     }
 
-    private CellType[][] createEmptyMazeWithWalls(int width, int height) {
-        CellType[][] maze = new CellType[height][width];
-        for (CellType[] row : maze) {
-            Arrays.fill(row, CellType.EMPTY);
-        }
-        for (int i = 0; i < width; i++) {
-            maze[0][i] = CellType.WALL;
-            maze[height - 1][i] = CellType.WALL;
+    private void carveInterior(Maze maze) {
+        maze.fill(CellType.EMPTY);
+        for (int i = 0; i < maze.width(); i++) {
+            maze.set(i, 0, CellType.WALL);
+            maze.set(i, maze.height() - 1, CellType.WALL);
         }
-        for (int i = 0; i < height; i++) {
-            maze[i][0] = CellType.WALL;
-            maze[i][width - 1] = CellType.WALL;
+        for (int i = 0; i < maze.height(); i++) {
+            maze.set(0, i, CellType.WALL);
+            maze.set(maze.width() - 1, i, CellType.WALL);
         }
-
-        return maze;
     }
 
     protected CellType getRandomCoverage(boolean useCoatings) {
         return useCoatings ? COVERAGE_TYPES.get(random.nextInt(COVERAGE_TYPES.size())) : CellType.EMPTY;
     }
+
+    /** То же, что {@link #getRandomCoverage(boolean)}, но из переданного потока — для задач со своим генератором. */
+    protected CellType getRandomCoverage(SplittableRandom random) {
+        return useCoatings ? COVERAGE_TYPES.get(random.nextInt(COVERAGE_TYPES.size())) : CellType.EMPTY;
+    }
+
+    /** Стек индексов клеток на массиве {@code int[]}, растёт удвоением. Заменяет {@code Deque<Point>} в обходах. */
+    protected static final class CellStack {
+
+        private int[] cells;
+        private int size;
+
+        public CellStack(int capacity) {
+            this.cells = new int[Math.max(1, capacity)];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void push(int cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[size++] = cell;
+        }
+
+        public int peek() {
+            return cells[size - 1];
+        }
+
+        public int pop() {
+            return cells[--size];
+        }
+    }
 }
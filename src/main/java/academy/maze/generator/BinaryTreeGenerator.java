@@ -1,46 +1,45 @@
 package academy.maze.generator;
 
-import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
+import java.util.SplittableRandom;
 
-public class BinaryTreeGenerator extends AbstractGenerator {
+/** Бинарное дерево: каждая комната соединяется либо с правой, либо с нижней соседней комнатой. */
+public class BinaryTreeGenerator extends RowParallelGenerator {
 
     public BinaryTreeGenerator(boolean useCoatings) {
-        super(useCoatings);
+        super(useCoatings, false);
     }
 
-    @Override
-    public Maze generate(int width, int height) {
-        CellType[][] maze = createClearMaze(width, height, true);
-
-        for (int y = 1; y < height - 1; y += 2) {
-            for (int x = 1; x < width - 1; x += 2) {
-                carveCell(maze, x, y);
-                createPassage(maze, x, y, width, height);
-            }
-        }
-
-        return new Maze(maze);
+    public BinaryTreeGenerator(boolean useCoatings, long seed) {
+        super(useCoatings, seed, false);
     }
 
-    private void carveCell(CellType[][] maze, int x, int y) {
-        maze[y][x] = getRandomCoverage(useCoatings);
+    public BinaryTreeGenerator(boolean useCoatings, long seed, boolean parallel) {
+        super(useCoatings, seed, parallel);
     }
 
-    private void createPassage(CellType[][] maze, int x, int y, int width, int height) {
-        boolean canGoRight = x < width - 3;
-        boolean canGoDown = y < height - 3;
+    @Override
+    protected void carveRow(Maze.BulkWriter cells, int row, int columns, int rows, SplittableRandom random) {
+        int y = 2 * row + 1;
+        for (int c = 0; c < columns; c++) {
+            int x = 2 * c + 1;
+            cells.set(x, y, getRandomCoverage(random));
+            createPassage(cells, x, y, c < columns - 1, row < rows - 1, random);
+        }
+    }
 
+    private void createPassage(
+            Maze.BulkWriter cells, int x, int y, boolean canGoRight, boolean canGoDown, SplittableRandom random) {
         if (canGoRight && canGoDown) {
             if (random.nextBoolean()) {
-                maze[y][x + 1] = getRandomCoverage(useCoatings);
+                cells.set(x + 1, y, getRandomCoverage(random));
             } else {
-                maze[y + 1][x] = getRandomCoverage(useCoatings);
+                cells.set(x, y + 1, getRandomCoverage(random));
             }
         } else if (canGoRight) {
-            maze[y][x + 1] = getRandomCoverage(useCoatings);
+            cells.set(x + 1, y, getRandomCoverage(random));
         } else if (canGoDown) {
-            maze[y + 1][x] = getRandomCoverage(useCoatings);
+            cells.set(x, y + 1, getRandomCoverage(random));
         }
     }
 }
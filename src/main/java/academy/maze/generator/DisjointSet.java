@@ -0,0 +1,50 @@
+package academy.maze.generator;
+
+/**
+ * Система непересекающихся множеств на плоских массивах: сжатие путей делением пополам и объединение по рангу. Обе
+ * операции выполняются за почти константное амортизированное время и без рекурсии.
+ */
+final class DisjointSet {
+
+    private final int[] parent;
+    private final byte[] rank;
+
+    DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+    }
+
+    int find(int element) {
+        int e = element;
+        while (parent[e] != e) {
+            parent[e] = parent[parent[e]];
+            e = parent[e];
+        }
+        return e;
+    }
+
+    /**
+     * Объединяет множества двух элементов.
+     *
+     * @return {@code true}, если элементы были в разных множествах.
+     */
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+package academy.maze.generator;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.Maze;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Генератор по алгоритму Эллера. Лабиринт строится сверху вниз по одной строке комнат, и от предыдущих строк нужно
+ * помнить только, какие комнаты текущей строки связаны между собой. Поэтому память — O(width) при любой высоте.
+ *
+ * <p>Множества связанных комнат хранятся как система непересекающихся множеств по номерам столбцов. Множество,
+ * спустившееся из предыдущей строки, обозначается корнем, который у него был в той строке.
+ */
+public class EllerGenerator extends AbstractGenerator implements StreamingGenerator {
+
+    private static final int NEW_SET = -1;
+
+    public EllerGenerator(boolean useCoatings) {
+        super(useCoatings);
+    }
+
+    public EllerGenerator(boolean useCoatings, long seed) {
+        super(useCoatings, seed);
+    }
+
+    @Override
+    public Maze generate(int width, int height) {
+        Maze maze = createClearMaze(width, height, false);
+        try {
+            generate(width, height, (y, row) -> {
+                for (int x = 0; x < row.length; x++) {
+                    maze.set(x, y, row[x]);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return maze;
+    }
+
+    @Override
+    public void generate(int width, int height, RowSink sink) throws IOException {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Размер лабиринта не может быть отрицательным: " + width + "x" + height);
+        }
+        int columns = Math.max(0, (width - 1) / 2);
+        int rows = Math.max(0, (height - 1) / 2);
+        RowState state = new RowState(columns);
+        CellType[] row = new CellType[width];
+
+        for (int y = 0; y < height; y++) {
+            Arrays.fill(row, CellType.WALL);
+            int roomRow = (y - 1) / 2;
+            if (y % 2 == 1 && roomRow < rows) {
+                state.nextRow(roomRow == rows - 1);
+                carveRoomRow(row, state);
+            } else if (y > 0 && y % 2 == 0 && roomRow < rows - 1) {
+                carvePassagesDown(row, state);
+            }
+            sink.accept(y, row);
+        }
+    }
+
+    private void carveRoomRow(CellType[] row, RowState state) {
+        for (int c = 0; c < state.columns; c++) {
+            row[2 * c + 1] = getRandomCoverage(useCoatings);
+            if (state.right[c]) {
+                row[2 * c + 2] = getRandomCoverage(useCoatings);
+            }
+        }
+    }
+
+    private void carvePassagesDown(CellType[] row, RowState state) {
+        for (int c = 0; c < state.columns; c++) {
+            if (state.down[c]) {
+                row[2 * c + 1] = getRandomCoverage(useCoatings);
+            }
+        }
+    }
+
+    /** Состояние одной строки комнат. Все массивы длины {@code columns} и переиспользуются от строки к строке. */
+    private final class RowState {
+
+        private final int columns;
+        private final int[] parent;
+        private final int[] carried;
+        private final int[] firstColumn;
+        private final int[] remaining;
+        private final boolean[] hasDown;
+        private final boolean[] right;
+        private final boolean[] down;
+
+        RowState(int columns) {
+            this.columns = columns;
+            this.parent = new int[columns];
+            this.carried = new int[columns];
+            this.firstColumn = new int[columns];
+            this.remaining = new int[columns];
+            this.hasDown = new boolean[columns];
+            this.right = new boolean[columns];
+            this.down = new boolean[columns];
+            Arrays.fill(carried, NEW_SET);
+        }
+
+        /** Строит следующую строку: объединения вправо и, если строка не последняя, проходы вниз. */
+        void nextRow(boolean last) {
+            restoreSets();
+            joinRight(last);
+            if (last) {
+                Arrays.fill(down, false);
+            } else {
+                chooseDown();
+            }
+        }
+
+        private void restoreSets() {
+            Arrays.fill(firstColumn, NEW_SET);
+            for (int c = 0; c < columns; c++) {
+                int set = carried[c];
+                if (set == NEW_SET) {
+                    parent[c] = c;
+                } else if (firstColumn[set] == NEW_SET) {
+                    firstColumn[set] = c;
+                    parent[c] = c;
+                } else {
+                    parent[c] = firstColumn[set];
+                }
+            }
+        }
+
+        private void joinRight(boolean last) {
+            for (int c = 0; c < columns - 1; c++) {
+                int left = find(c);
+                int next = find(c + 1);
+                right[c] = left != next && (last || random.nextBoolean());
+                if (right[c]) {
+                    parent[next] = left;
+                }
+            }
+        }
+
+        private void chooseDown() {
+            Arrays.fill(remaining, 0);
+            Arrays.fill(hasDown, false);
+            for (int c = 0; c < columns; c++) {
+                remaining[find(c)]++;
+            }
+            for (int c = 0; c < columns; c++) {
+                int root = find(c);
+                remaining[root]--;
+                down[c] = random.nextBoolean() || (remaining[root] == 0 && !hasDown[root]);
+                hasDown[root] |= down[c];
+            }
+            for (int c = 0; c < columns; c++) {
+                carried[c] = down[c] ? find(c) : NEW_SET;
+            }
+        }
+
+        private int find(int column) {
+            int c = column;
+            while (parent[c] != c) {
+                parent[c] = parent[parent[c]];
+                c = parent[c];
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package academy.maze.generator;
+
+import academy.maze.dto.Maze;
+
+/**
+ * Генератор по алгоритму Краскала: все стены между соседними комнатами перемешиваются, затем стена убирается, если
+ * комнаты по обе её стороны ещё не связаны. Связность отслеживается системой непересекающихся множеств, поэтому время
+ * почти линейно по числу клеток, а рекурсии и стека нет.
+ */
+public class KruskalGenerator extends AbstractGenerator {
+
+    public KruskalGenerator(boolean useCoatings) {
+        super(useCoatings);
+    }
+
+    public KruskalGenerator(boolean useCoatings, long seed) {
+        super(useCoatings, seed);
+    }
+
+    @Override
+    public Maze generate(int width, int height) {
+        Maze maze = createClearMaze(width, height, false);
+        int columns = Math.max(0, (width - 1) / 2);
+        int rows = Math.max(0, (height - 1) / 2);
+        if (columns == 0 || rows == 0) {
+            return maze;
+        }
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                maze.set(2 * c + 1, 2 * r + 1, getRandomCoverage(useCoatings));
+            }
+        }
+
+        int[] walls = collectWalls(maze, columns, rows);
+        shuffle(walls);
+
+        DisjointSet rooms = new DisjointSet(columns * rows);
+        for (int wall : walls) {
+            int x = wall % width;
+            int y = wall / width;
+            boolean vertical = x % 2 == 0;
+            int first = roomId(vertical ? x - 1 : x, vertical ? y : y - 1, columns);
+            int second = roomId(vertical ? x + 1 : x, vertical ? y : y + 1, columns);
+            if (rooms.union(first, second)) {
+                maze.set(wall, getRandomCoverage(useCoatings));
+            }
+        }
+        return maze;
+    }
+
+    /** Индексы клеток-стен между соседними комнатами: справа и снизу от каждой комнаты. */
+    private int[] collectWalls(Maze maze, int columns, int rows) {
+        int[] walls = new int[(columns - 1) * rows + columns * (rows - 1)];
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (c < columns - 1) {
+                    walls[count++] = maze.index(2 * c + 2, 2 * r + 1);
+                }
+                if (r < rows - 1) {
+                    walls[count++] = maze.index(2 * c + 1, 2 * r + 2);
+                }
+            }
+        }
+        return walls;
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static int roomId(int x, int y, int columns) {
+        return (y / 2) * columns + x / 2;
+    }
+}
@@ -0,0 +1,227 @@
+package academy.maze.generator;
+
+import academy.maze.dto.Maze;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * Параллельная генерация: лабиринт делится на прямоугольные плитки, каждая плитка генерируется заданным алгоритмом в
+ * отдельной задаче {@link ForkJoinPool}, после чего плитки соединяются проходами в общих стенах.
+ *
+ * <p>Соседние плитки делят одну стену, поэтому каждая задача пишет только во внутреннюю часть своей плитки и задачи не
+ * пересекаются по памяти; пишут они через общий {@link Maze.BulkWriter}, который не трогает общих полей лабиринта.
+ * Проходы между плитками выбираются по случайному остовному дереву графа плиток — по одному проходу на ребро. Если
+ * алгоритм плитки строит идеальный лабиринт, то и весь лабиринт остаётся идеальным.
+ *
+ * <p>Зёрна плиток берутся из потока генератора по порядку номеров плиток ещё до запуска задач, поэтому при одном и том
+ * же зерне результат не зависит ни от числа потоков, ни от порядка их выполнения.
+ */
+public class ParallelTiledGenerator extends AbstractGenerator {
+
+    /** Размер плитки по умолчанию в комнатах по каждой оси. */
+    public static final int DEFAULT_TILE_ROOMS = 128;
+
+    private final LongFunction<? extends Generator> tileGenerator;
+    private final int tileRooms;
+    private final ForkJoinPool pool;
+
+    public ParallelTiledGenerator(LongFunction<? extends Generator> tileGenerator, boolean useCoatings) {
+        this(tileGenerator, useCoatings, new SplittableRandom(), DEFAULT_TILE_ROOMS, ForkJoinPool.commonPool());
+    }
+
+    public ParallelTiledGenerator(LongFunction<? extends Generator> tileGenerator, boolean useCoatings, long seed) {
+        this(tileGenerator, useCoatings, seed, DEFAULT_TILE_ROOMS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param tileGenerator фабрика генераторов по зерну, новый генератор на каждую плитку.
+     * @param useCoatings использовать покрытия для проходов между плитками.
+     * @param seed зерно генерации.
+     * @param tileRooms сторона плитки в комнатах.
+     * @param pool пул, в котором генерируются плитки.
+     */
+    public ParallelTiledGenerator(
+            LongFunction<? extends Generator> tileGenerator,
+            boolean useCoatings,
+            long seed,
+            int tileRooms,
+            ForkJoinPool pool) {
+        this(tileGenerator, useCoatings, new SplittableRandom(seed), tileRooms, pool);
+    }
+
+    private ParallelTiledGenerator(
+            LongFunction<? extends Generator> tileGenerator,
+            boolean useCoatings,
+            SplittableRandom random,
+            int tileRooms,
+            ForkJoinPool pool) {
+        super(useCoatings, random);
+        if (tileRooms < 1) {
+            throw new IllegalArgumentException("Размер плитки должен быть положительным: " + tileRooms);
+        }
+        this.tileGenerator = tileGenerator;
+        this.tileRooms = tileRooms;
+        this.pool = pool;
+    }
+
+    @Override
+    public Maze generate(int width, int height) {
+        Maze maze = createClearMaze(width, height, false);
+        TileLayout layout = new TileLayout(roomsAlong(width), roomsAlong(height), tileRooms);
+        if (layout.count() > 0) {
+            long[] tileSeeds = new long[layout.count()];
+            for (int tile = 0; tile < tileSeeds.length; tile++) {
+                tileSeeds[tile] = random.nextLong();
+            }
+            try (Maze.BulkWriter cells = maze.bulkWriter()) {
+                pool.invoke(new TileTask(cells, layout, tileSeeds, 0, layout.count()));
+            }
+            openSeams(maze, layout);
+        }
+        return maze;
+    }
+
+    private static int roomsAlong(int size) {
+        return Math.max(0, (size - 1) / 2);
+    }
+
+    private void generateTile(Maze.BulkWriter cells, TileLayout layout, long seed, int tile) {
+        int firstColumn = layout.firstColumn(tile);
+        int firstRow = layout.firstRow(tile);
+        int tileWidth = 2 * (layout.endColumn(tile) - firstColumn) + 1;
+        int tileHeight = 2 * (layout.endRow(tile) - firstRow) + 1;
+        Maze part = tileGenerator.apply(seed).generate(tileWidth, tileHeight);
+
+        int offsetX = 2 * firstColumn;
+        int offsetY = 2 * firstRow;
+        byte[] row = new byte[tileWidth];
+        for (int y = 1; y < tileHeight - 1; y++) {
+            part.getRow(y, row);
+            cells.setRow(offsetX + 1, offsetY + y, row, 1, tileWidth - 2);
+        }
+    }
+
+    /** Соединяет плитки по случайному остовному дереву, обходя граф плиток в глубину. */
+    private void openSeams(Maze maze, TileLayout layout) {
+        boolean[] visited = new boolean[layout.count()];
+        int[] stack = new int[layout.count()];
+        int[] candidates = new int[NEIGHBOUR_COUNT];
+        int top = 0;
+        int start = random.nextInt(layout.count());
+        visited[start] = true;
+        stack[top++] = start;
+
+        while (top > 0) {
+            int tile = stack[top - 1];
+            int count = 0;
+            int tx = tile % layout.tilesX;
+            int ty = tile / layout.tilesX;
+            if (tx > 0 && !visited[tile - 1]) {
+                candidates[count++] = tile - 1;
+            }
+            if (tx < layout.tilesX - 1 && !visited[tile + 1]) {
+                candidates[count++] = tile + 1;
+            }
+            if (ty > 0 && !visited[tile - layout.tilesX]) {
+                candidates[count++] = tile - layout.tilesX;
+            }
+            if (ty < layout.tilesY - 1 && !visited[tile + layout.tilesX]) {
+                candidates[count++] = tile + layout.tilesX;
+            }
+
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = candidates[random.nextInt(count)];
+            openSeam(maze, layout, Math.min(tile, next), next / layout.tilesX == ty);
+            visited[next] = true;
+            stack[top++] = next;
+        }
+    }
+
+    /**
+     * Прорубает проход между соседними плитками.
+     *
+     * @param first левая или верхняя из двух плиток.
+     * @param horizontal {@code true}, если вторая плитка справа от первой, иначе — снизу.
+     */
+    private void openSeam(Maze maze, TileLayout layout, int first, boolean horizontal) {
+        if (horizontal) {
+            int x = 2 * layout.endColumn(first);
+            int row = layout.firstRow(first) + random.nextInt(layout.endRow(first) - layout.firstRow(first));
+            maze.set(x, 2 * row + 1, getRandomCoverage(useCoatings));
+        } else {
+            int y = 2 * layout.endRow(first);
+            int column =
+                    layout.firstColumn(first) + random.nextInt(layout.endColumn(first) - layout.firstColumn(first));
+            maze.set(2 * column + 1, y, getRandomCoverage(useCoatings));
+        }
+    }
+
+    /** Разбиение комнат на плитки. Плитки нумеруются построчно; последняя в ряду может быть меньше остальных. */
+    private record TileLayout(int columns, int rows, int tileRooms, int tilesX, int tilesY) {
+
+        TileLayout(int columns, int rows, int tileRooms) {
+            this(columns, rows, tileRooms, ceilDiv(columns, tileRooms), ceilDiv(rows, tileRooms));
+        }
+
+        private static int ceilDiv(int value, int divisor) {
+            return (value + divisor - 1) / divisor;
+        }
+
+        int count() {
+            return tilesX * tilesY;
+        }
+
+        int firstColumn(int tile) {
+            return (tile % tilesX) * tileRooms;
+        }
+
+        /** Столбец комнат сразу за плиткой. */
+        int endColumn(int tile) {
+            return Math.min(columns, firstColumn(tile) + tileRooms);
+        }
+
+        int firstRow(int tile) {
+            return (tile / tilesX) * tileRooms;
+        }
+
+        /** Строка комнат сразу за плиткой. */
+        int endRow(int tile) {
+            return Math.min(rows, firstRow(tile) + tileRooms);
+        }
+    }
+
+    /** Делит диапазон плиток пополам, пока в задаче не останется одна плитка. */
+    private final class TileTask extends RecursiveAction {
+
+        private final Maze.BulkWriter cells;
+        private final TileLayout layout;
+        private final long[] tileSeeds;
+        private final int from;
+        private final int to;
+
+        TileTask(Maze.BulkWriter cells, TileLayout layout, long[] tileSeeds, int from, int to) {
+            this.cells = cells;
+            this.layout = layout;
+            this.tileSeeds = tileSeeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                generateTile(cells, layout, tileSeeds[from], from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new TileTask(cells, layout, tileSeeds, from, middle),
+                    new TileTask(cells, layout, tileSeeds, middle, to));
+        }
+    }
+}
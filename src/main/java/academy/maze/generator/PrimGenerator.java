@@ -1,10 +1,8 @@
 package academy.maze.generator;
 
-import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
-import academy.maze.dto.Point;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.BitSet;
+import java.util.SplittableRandom;
 
 public class PrimGenerator extends AbstractGenerator {
 
@@ -12,55 +10,75 @@ public class PrimGenerator extends AbstractGenerator {
         super(useCoatings);
     }
 
+    public PrimGenerator(boolean useCoatings, long seed) {
+        super(useCoatings, seed);
+    }
+
     @Override
     public Maze generate(int width, int height) {
-        CellType[][] maze = createClearMaze(width, height, false);
-        Point start = new Point(randomOdd(width), randomOdd(height));
-        maze[start.y()][start.x()] = getRandomCoverage(useCoatings);
-        List<Point> frontier = new ArrayList<>(findNeighbours(start, width, height, maze));
+        Maze maze = createClearMaze(width, height, false);
+        int start = maze.index(randomOdd(width), randomOdd(height));
+        maze.set(start, getRandomCoverage(useCoatings));
+
+        Frontier frontier = new Frontier(maze.size(), roomCount(width, height));
+        int[] neighbours = new int[NEIGHBOUR_COUNT];
+        addToFrontier(start, frontier, maze, neighbours);
         while (!frontier.isEmpty()) {
-            Point current = frontier.remove(random.nextInt(frontier.size()));
-            List<Point> carvedNeighbors = getCarvedNeighbors(current, maze, width, height);
-            if (!carvedNeighbors.isEmpty()) {
-                Point connectedNeighbor = carvedNeighbors.get(random.nextInt(carvedNeighbors.size()));
-                connectCells(current, connectedNeighbor, maze);
+            int current = frontier.removeRandom(random);
+            int carvedCount = findNeighbours(current, maze, false, neighbours);
+            if (carvedCount > 0) {
+                int connectedNeighbor = neighbours[random.nextInt(carvedCount)];
+                carveBetween(connectedNeighbor, current, maze);
             }
-            addToFrontier(current, frontier, maze, width, height);
+            addToFrontier(current, frontier, maze, neighbours);
         }
-        return new Maze(maze);
+        return maze;
     }
 
-    private List<Point> getCarvedNeighbors(Point point, CellType[][] maze, int width, int height) {
-        List<Point> carved = new ArrayList<>();
-        for (Direction dir : Direction.values()) {
-            int nx = point.x() + dir.dx;
-            int ny = point.y() + dir.dy;
-            if (isValidCell(nx, ny, width, height) && maze[ny][nx] != CellType.WALL) {
-                carved.add(new Point(nx, ny));
-            }
+    private void addToFrontier(int cell, Frontier frontier, Maze maze, int[] neighbours) {
+        int count = findNeighbours(cell, maze, true, neighbours);
+        for (int i = 0; i < count; i++) {
+            frontier.add(neighbours[i]);
         }
-        return carved;
     }
 
-    private void connectCells(Point cell1, Point cell2, CellType[][] maze) {
-        int wallX = cell1.x() + (cell2.x() - cell1.x()) / 2;
-        int wallY = cell1.y() + (cell2.y() - cell1.y()) / 2;
-        maze[wallY][wallX] = getRandomCoverage(useCoatings);
-        maze[cell1.y()][cell1.x()] = getRandomCoverage(useCoatings);
+    /** Количество клеток-комнат (с нечётными координатами внутри рамки) — верхняя граница размера фронта. */
+    private static int roomCount(int width, int height) {
+        return Math.max(0, (width - 1) / 2) * Math.max(0, (height - 1) / 2);
     }
 
-    private void addToFrontier(Point point, List<Point> frontier, CellType[][] maze, int width, int height) {
-        for (Direction dir : Direction.values()) {
-            int nx = point.x() + dir.dx;
-            int ny = point.y() + dir.dy;
-            Point neighbor = new Point(nx, ny);
-            if (isValidCell(nx, ny, width, height) && maze[ny][nx] == CellType.WALL && !frontier.contains(neighbor)) {
-                frontier.add(neighbor);
+    /**
+     * Фронт алгоритма Прима: массив индексов клеток и битовая маска принадлежности. Добавление и проверка — O(1),
+     * случайное извлечение — O(1) заменой извлечённого элемента последним. Клетка попадает во фронт не более одного
+     * раза: после извлечения она прорубается и стеной больше не бывает.
+     */
+    private static final class Frontier {
+
+        private final int[] cells;
+        private final BitSet members;
+        private int size;
+
+        Frontier(int cellCount, int capacity) {
+            this.cells = new int[capacity];
+            this.members = new BitSet(cellCount);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int cell) {
+            if (!members.get(cell)) {
+                members.set(cell);
+                cells[size++] = cell;
             }
         }
-    }
 
-    private boolean isValidCell(int x, int y, int width, int height) {
-        return x > 0 && x < width - 1 && y > 0 && y < height - 1;
+        int removeRandom(SplittableRandom random) {
+            int i = random.nextInt(size);
+            int cell = cells[i];
+            cells[i] = cells[--size];
+            return cell;
+        }
     }
 }
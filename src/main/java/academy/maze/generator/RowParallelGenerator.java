@@ -0,0 +1,74 @@
+package academy.maze.generator;
+
+import academy.maze.dto.Maze;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Основа для алгоритмов, в которых строка комнат прорубается независимо от остальных строк: каждая строка пишет только
+ * в свои клетки и в стены непосредственно рядом с ними.
+ *
+ * <p>Строки группируются в блоки по {@link #ROWS_PER_BLOCK}, у каждого блока свой поток случайных чисел. Зёрна блоков
+ * берутся из потока генератора по порядку до начала работы, поэтому последовательный и параллельный режимы с одним
+ * зерном дают одинаковый лабиринт. В параллельном режиме блоки распределяются по ядрам через общий
+ * {@link java.util.concurrent.ForkJoinPool}. Строки пишутся через общий {@link Maze.BulkWriter}, так что потоки не
+ * трогают общие поля лабиринта, а его версия и сводка сбрасываются один раз после всех строк.
+ */
+public abstract class RowParallelGenerator extends AbstractGenerator {
+
+    /** Количество строк комнат в одном блоке. */
+    public static final int ROWS_PER_BLOCK = 64;
+
+    private final boolean parallel;
+
+    protected RowParallelGenerator(boolean useCoatings, boolean parallel) {
+        super(useCoatings);
+        this.parallel = parallel;
+    }
+
+    protected RowParallelGenerator(boolean useCoatings, long seed, boolean parallel) {
+        super(useCoatings, seed);
+        this.parallel = parallel;
+    }
+
+    @Override
+    public Maze generate(int width, int height) {
+        Maze maze = createClearMaze(width, height, false);
+        int columns = Math.max(0, (width - 1) / 2);
+        int rows = Math.max(0, (height - 1) / 2);
+        if (columns == 0 || rows == 0) {
+            return maze;
+        }
+
+        long[] blockSeeds = new long[(rows + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK];
+        for (int block = 0; block < blockSeeds.length; block++) {
+            blockSeeds[block] = random.nextLong();
+        }
+
+        IntStream blocks = IntStream.range(0, blockSeeds.length);
+        if (parallel) {
+            blocks = blocks.parallel();
+        }
+        try (Maze.BulkWriter cells = maze.bulkWriter()) {
+            blocks.forEach(block -> {
+                SplittableRandom blockRandom = new SplittableRandom(blockSeeds[block]);
+                int end = Math.min(rows, (block + 1) * ROWS_PER_BLOCK);
+                for (int row = block * ROWS_PER_BLOCK; row < end; row++) {
+                    carveRow(cells, row, columns, rows, blockRandom);
+                }
+            });
+        }
+        return maze;
+    }
+
+    /**
+     * Прорубает одну строку комнат.
+     *
+     * @param cells писатель клеток лабиринта, изначально из одних стен.
+     * @param row номер строки комнат, клетки строки лежат в {@code y = 2 * row + 1}.
+     * @param columns количество комнат в строке.
+     * @param rows количество строк комнат.
+     * @param random поток случайных чисел блока, которому принадлежит строка.
+     */
+    protected abstract void carveRow(Maze.BulkWriter cells, int row, int columns, int rows, SplittableRandom random);
+}
@@ -0,0 +1,18 @@
+package academy.maze.generator;
+
+import academy.maze.dto.CellType;
+import java.io.IOException;
+
+/** Приёмник строк лабиринта, которые потоковый генератор выдаёт по одной сверху вниз. */
+@FunctionalInterface
+public interface RowSink {
+
+    /**
+     * Принимает очередную готовую строку.
+     *
+     * @param y номер строки.
+     * @param row клетки строки. Массив переиспользуется генератором, после возврата его нельзя хранить.
+     * @throws IOException если строку не удалось записать.
+     */
+    void accept(int y, CellType[] row) throws IOException;
+}
@@ -0,0 +1,42 @@
+package academy.maze.generator;
+
+import academy.maze.dto.Maze;
+import java.util.SplittableRandom;
+
+/**
+ * Алгоритм Sidewinder. Верхняя строка комнат — сплошной коридор. В остальных строках комнаты набираются в серию,
+ * которая продолжается вправо, пока случайно не закроется; из закрытой серии прорубается один проход вверх из случайной
+ * её комнаты. Строка пишет только в себя и в стену над собой.
+ */
+public class SidewinderGenerator extends RowParallelGenerator {
+
+    public SidewinderGenerator(boolean useCoatings) {
+        super(useCoatings, false);
+    }
+
+    public SidewinderGenerator(boolean useCoatings, long seed) {
+        super(useCoatings, seed, false);
+    }
+
+    public SidewinderGenerator(boolean useCoatings, long seed, boolean parallel) {
+        super(useCoatings, seed, parallel);
+    }
+
+    @Override
+    protected void carveRow(Maze.BulkWriter cells, int row, int columns, int rows, SplittableRandom random) {
+        int y = 2 * row + 1;
+        int runStart = 0;
+        for (int c = 0; c < columns; c++) {
+            cells.set(2 * c + 1, y, getRandomCoverage(random));
+            boolean lastColumn = c == columns - 1;
+            boolean closeRun = row > 0 && (lastColumn || random.nextBoolean());
+            if (closeRun) {
+                int up = runStart + random.nextInt(c - runStart + 1);
+                cells.set(2 * up + 1, y - 1, getRandomCoverage(random));
+                runStart = c + 1;
+            } else if (!lastColumn) {
+                cells.set(2 * c + 2, y, getRandomCoverage(random));
+            }
+        }
+    }
+}
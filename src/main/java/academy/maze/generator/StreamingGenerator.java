@@ -0,0 +1,18 @@
+package academy.maze.generator;
+
+import java.io.IOException;
+
+/** Генератор, который может выдавать лабиринт построчно, не держа его в памяти целиком. */
+public interface StreamingGenerator extends Generator {
+
+    /**
+     * Генерирует лабиринт и по мере готовности передаёт строки в {@code sink}.
+     *
+     * @param width ширина лабиринта.
+     * @param height высота лабиринта.
+     * @param sink приёмник строк.
+     * @throws IOException если приёмник не смог записать строку.
+     * @throws IllegalArgumentException если невозможно сгенерировать лабиринт.
+     */
+    void generate(int width, int height, RowSink sink) throws IOException;
+}
@@ -1,22 +1,21 @@
 package academy.maze.solver;
 
 import academy.maze.dto.Maze;
-import academy.maze.dto.Path;
 import academy.maze.dto.Point;
 
 public class AStarSolver extends PriorityQueueSolver {
 
     @Override
-    public Path solve(Maze maze, Point start, Point end) {
-        return findShortestPath(maze, start, end);
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        return findShortestPath(maze, start, end, budget);
     }
 
     @Override
-    int computePriority(int distance, Point current, Point target) {
-        return distance + guessDistance(current, target);
+    int computePriority(int distance, int x, int y, int targetX, int targetY) {
+        return distance + guessDistance(x, y, targetX, targetY);
     }
 
-    private int guessDistance(Point a, Point b) {
-        return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
+    private int guessDistance(int x, int y, int targetX, int targetY) {
+        return Math.abs(x - targetX) + Math.abs(y - targetY);
     }
 }
@@ -4,46 +4,86 @@ import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
 import academy.maze.dto.Path;
 import academy.maze.dto.Point;
-import java.util.*;
 
+/**
+ * Общая часть решателей. Клетки адресуются плоским индексом {@code y * width + x}, а состояние поиска хранится в
+ * массивах {@code int[]}, поэтому объекты {@link Point} создаются только при сборке итогового пути.
+ *
+ * <p>Рабочие массивы ({@link SearchWorkspace}) живут в экземпляре решателя и переиспользуются между вызовами, поэтому
+ * экземпляр не потокобезопасен: для параллельных запросов у каждого потока должен быть свой решатель.
+ *
+ * <p>Наследники реализуют {@link #search(Maze, Point, Point, SearchBudget)}: перед раскрытием каждой клетки поиск
+ * спрашивает {@link SearchBudget#tryExpand()} и при отказе возвращает {@link SearchBudget#notFound()}. Вызов без
+ * ограничений бросает исключение, если путь не найден, как и раньше.
+ */
 public abstract class AbstractSolver implements Solver {
 
-    private static final int[][] MOVES = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    /** Смещения по x для четырёх соседей: вправо, влево, вниз, вверх. */
+    protected static final int[] DX = {1, -1, 0, 0};
 
-    protected List<Point> getAdjacentPoints(Point pos, Maze maze) {
-        List<Point> result = new ArrayList<>();
-        CellType[][] grid = maze.cells();
-        int rows = grid.length;
-        int cols = grid[0].length;
+    /** Смещения по y для четырёх соседей: вправо, влево, вниз, вверх. */
+    protected static final int[] DY = {0, 0, 1, -1};
 
-        for (int[] move : MOVES) {
-            int newX = pos.x() + move[0];
-            int newY = pos.y() + move[1];
+    /** Отсутствие предшественника (стартовая клетка). */
+    protected static final int NO_CELL = -1;
 
-            if (newX >= 0 && newX < cols && newY >= 0 && newY < rows) {
-                CellType cell = grid[newY][newX];
-                if (cell != CellType.WALL) {
-                    result.add(new Point(newX, newY));
-                }
-            }
+    private SearchWorkspace workspace;
+
+    @Override
+    public Path solve(Maze maze, Point start, Point end) {
+        return solve(maze, start, end, SearchLimits.none()).orElseThrow();
+    }
+
+    @Override
+    public SearchResult solve(Maze maze, Point start, Point end, SearchLimits limits) {
+        return search(maze, start, end, limits.start());
+    }
+
+    /** Поиск пути, раскрывающий клетки только с разрешения {@code budget}. */
+    protected abstract SearchResult search(Maze maze, Point start, Point end, SearchBudget budget);
+
+    /**
+     * Можно ли войти в клетку. Старт и финиш запроса проходимы, даже если на их месте в лабиринте стена: они
+     * накладываются поверх клеток, как START и END при выводе.
+     */
+    protected static boolean isPassable(Maze maze, int cell, int source, int target) {
+        return !maze.isWall(cell) || cell == source || cell == target;
+    }
+
+    protected int toIndex(Point point, int width, int height) {
+        if (point.x() < 0 || point.y() < 0 || point.x() >= width || point.y() >= height) {
+            throw new IllegalArgumentException("Точка вне границ лабиринта: (" + point.x() + ", " + point.y() + ")");
         }
-        return result;
+        return point.y() * width + point.x();
     }
 
-    protected Path buildPath(Point destination, Map<Point, Point> predecessors) {
-        if (!predecessors.containsKey(destination)) {
-            throw new RuntimeException("Решение не найдено");
+    /** Рабочие массивы этого решателя, подготовленные к новому поиску в лабиринте. */
+    SearchWorkspace workspace(Maze maze) {
+        if (workspace == null) {
+            workspace = new SearchWorkspace();
         }
+        workspace.reset(maze.size());
+        return workspace;
+    }
 
-        List<Point> points = new ArrayList<>();
-        Point step = destination;
+    protected void ensureMazeHasNoPath(Maze maze) {
+        if (maze.count(CellType.PATH) > 0) {
+            throw new IllegalStateException("В лабиринте уже есть решение (найдены клетки PATH)");
+        }
+    }
 
-        while (step != null) {
-            points.add(step);
-            step = predecessors.get(step);
+    protected Path buildPath(int destination, int[] predecessors, int width) {
+        int length = 0;
+        for (int step = destination; step != NO_CELL; step = predecessors[step]) {
+            length++;
         }
 
-        Collections.reverse(points);
-        return new Path(points.toArray(new Point[0]));
+        Point[] points = new Point[length];
+        int step = destination;
+        for (int i = length - 1; i >= 0; i--) {
+            points[i] = new Point(step % width, step / width);
+            step = predecessors[step];
+        }
+        return new Path(points);
     }
 }
@@ -0,0 +1,52 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Point;
+
+/**
+ * Поиск в ширину. В невзвешенном лабиринте клетки извлекаются из очереди в порядке расстояния, поэтому первый найденный
+ * путь кратчайший, а куча с приоритетами не нужна.
+ */
+public class BfsSolver extends AbstractSolver {
+
+    @Override
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        ensureMazeHasNoPath(maze);
+        int width = maze.width();
+        int height = maze.height();
+        int source = toIndex(start, width, height);
+        int target = toIndex(end, width, height);
+
+        SearchWorkspace search = workspace(maze);
+        IntQueue queue = search.queue;
+
+        search.reach(source, 0, NO_CELL);
+        queue.add(source);
+        while (!queue.isEmpty() && !search.isReached(target)) {
+            int current = queue.poll();
+            if (!budget.tryExpand()) {
+                return budget.notFound();
+            }
+            int distance = search.distance(current) + 1;
+            int x = current % width;
+            int y = current / width;
+            for (int dir = 0; dir < DX.length; dir++) {
+                int nx = x + DX[dir];
+                int ny = y + DY[dir];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (isPassable(maze, next, source, target) && !search.isReached(next)) {
+                    search.reach(next, distance, current);
+                    queue.add(next);
+                }
+            }
+        }
+
+        if (!search.isReached(target)) {
+            return budget.notFound();
+        }
+        return budget.found(buildPath(target, search.predecessors(), width));
+    }
+}
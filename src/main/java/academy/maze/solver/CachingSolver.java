@@ -0,0 +1,37 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+
+/**
+ * Решатель, который сначала ищет ответ в {@link SolutionCache} и обращается к обёрнутому решателю только при промахе.
+ * Кэш можно делить между потоками; сам экземпляр потокобезопасен настолько же, насколько обёрнутый решатель.
+ */
+public class CachingSolver implements Solver {
+
+    private final Solver delegate;
+    private final Object algorithm;
+    private final SolutionCache cache;
+
+    /**
+     * @param delegate решатель для промахов.
+     * @param algorithm ключ алгоритма и его настроек; решатели с разными ключами не делят записи кэша.
+     * @param cache кэш путей.
+     */
+    public CachingSolver(Solver delegate, Object algorithm, SolutionCache cache) {
+        this.delegate = delegate;
+        this.algorithm = algorithm;
+        this.cache = cache;
+    }
+
+    @Override
+    public Path solve(Maze maze, Point start, Point end) {
+        return cache.solve(maze, start, end, algorithm, delegate);
+    }
+
+    @Override
+    public SearchResult solve(Maze maze, Point start, Point end, SearchLimits limits) {
+        return cache.solve(maze, start, end, algorithm, delegate, limits);
+    }
+}
@@ -0,0 +1,19 @@
+package academy.maze.solver;
+
+/**
+ * Флаг кооперативной отмены поиска. Отменяющий поток вызывает {@link #cancel()}, а решатель время от времени проверяет
+ * флаг и, увидев его, прекращает поиск с результатом {@link SearchResult.Status#CANCELLED}. Один флаг можно передать в
+ * несколько поисков, чтобы отменить их разом.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,107 @@
+package academy.maze.solver;
+
+import academy.maze.dto.CellType;
+import java.util.Arrays;
+
+/**
+ * Стоимость входа в клетку каждого типа для взвешенного поиска пути. Стоимости — небольшие целые числа от 1 до
+ * {@link #MAX_COST}, стены непроходимы. Объект неизменяемый: {@link #with(CellType, int)} возвращает новую таблицу.
+ */
+public final class CellCosts {
+
+    /** Верхняя граница стоимости: от неё зависит число корзин в {@link DialSolver}. */
+    public static final int MAX_COST = 1000;
+
+    private static final CellType[] TYPES = CellType.values();
+    private static final int IMPASSABLE = 0;
+
+    private final int[] costs;
+
+    private CellCosts(int[] costs) {
+        this.costs = costs;
+    }
+
+    /** Все проходимые клетки стоят 1 — взвешенный поиск совпадает с обычным. */
+    public static CellCosts uniform() {
+        int[] costs = new int[TYPES.length];
+        Arrays.fill(costs, 1);
+        costs[CellType.WALL.ordinal()] = IMPASSABLE;
+        return new CellCosts(costs);
+    }
+
+    /** Таблица по умолчанию: трава стоит 2, песок 3, вода 5, остальные проходимые клетки 1. */
+    public static CellCosts defaults() {
+        return uniform().with(CellType.GRASS, 2).with(CellType.SAND, 3).with(CellType.WATER, 5);
+    }
+
+    /**
+     * Разбирает таблицу из строки вида {@code grass=2,sand=4,water=10}. Не перечисленные типы берутся из
+     * {@link #defaults()}.
+     *
+     * @throws IllegalArgumentException если строка не разбирается или стоимость вне допустимых границ.
+     */
+    public static CellCosts parse(String spec) {
+        CellCosts result = defaults();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Неверный формат стоимости: " + entry + ", ожидается тип=число");
+            }
+            CellType type = findType(parts[0].trim());
+            try {
+                result = result.with(type, Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Стоимость должна быть целым числом: " + entry, e);
+            }
+        }
+        return result;
+    }
+
+    private static CellType findType(String name) {
+        return Arrays.stream(TYPES)
+                .filter(type -> type.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный тип клетки: " + name));
+    }
+
+    /**
+     * Таблица, в которой у {@code type} стоимость {@code cost}.
+     *
+     * @throws IllegalArgumentException для стены или стоимости вне {@code [1, MAX_COST]}.
+     */
+    public CellCosts with(CellType type, int cost) {
+        if (type == CellType.WALL) {
+            throw new IllegalArgumentException("Стена непроходима, её стоимость задать нельзя");
+        }
+        if (cost < 1 || cost > MAX_COST) {
+            throw new IllegalArgumentException(
+                    "Стоимость клетки " + type + " должна быть от 1 до " + MAX_COST + ": " + cost);
+        }
+        int[] copy = costs.clone();
+        copy[type.ordinal()] = cost;
+        return new CellCosts(copy);
+    }
+
+    /** Стоимость входа в клетку; для стены — 0. */
+    public int cost(CellType type) {
+        return costs[type.ordinal()];
+    }
+
+    /** Наибольшая стоимость среди проходимых клеток. */
+    public int maxCost() {
+        return Arrays.stream(costs).max().orElse(1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CellCosts that && Arrays.equals(costs, that.costs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(costs);
+    }
+}
@@ -0,0 +1,148 @@
+package academy.maze.solver;
+
+import academy.maze.dto.CellType;
+import academy.maze.dto.Maze;
+import academy.maze.dto.Point;
+import java.util.Arrays;
+
+/**
+ * Взвешенный поиск кратчайшего пути алгоритмом Дейкстры на очереди корзин (алгоритм Дайла). Стоимость шага — стоимость
+ * клетки, в которую входим, по таблице {@link CellCosts}, так что покрытия (трава, песок, вода) влияют на маршрут.
+ *
+ * <p>Стоимости — малые целые числа не больше {@code C}, поэтому расстояния во фронте отличаются от текущего {@code d}
+ * не больше чем на {@code C}. Хватает {@code C + 1} корзин по кругу: корзина {@code d % (C + 1)} содержит клетки на
+ * расстоянии {@code d}. Вставка и извлечение — O(1), весь поиск — O(V + D), где D — длина кратчайшего пути в единицах
+ * стоимости.
+ *
+ * <p>Корзины, как и {@link SearchWorkspace}, живут в экземпляре решателя и только очищаются между запросами.
+ */
+public class DialSolver extends AbstractSolver {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final CellCosts costs;
+    private Buckets buckets;
+
+    /** Решатель с таблицей стоимостей {@link CellCosts#defaults()}. */
+    public DialSolver() {
+        this(CellCosts.defaults());
+    }
+
+    public DialSolver(CellCosts costs) {
+        this.costs = costs;
+    }
+
+    @Override
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        ensureMazeHasNoPath(maze);
+        int width = maze.width();
+        int height = maze.height();
+        int source = toIndex(start, width, height);
+        int target = toIndex(end, width, height);
+
+        SearchWorkspace search = workspace(maze);
+        Buckets buckets = buckets();
+
+        search.reach(source, 0, NO_CELL);
+        buckets.add(0, source);
+
+        for (int distance = 0; !buckets.isEmpty() && search.distance(target) > distance; distance++) {
+            int bucket = buckets.slot(distance);
+            for (int i = 0; i < buckets.size(bucket); i++) {
+                int current = buckets.get(bucket, i);
+                if (search.distance(current) != distance) {
+                    continue;
+                }
+                if (!budget.tryExpand()) {
+                    return budget.notFound();
+                }
+                int x = current % width;
+                int y = current / width;
+                for (int dir = 0; dir < DX.length; dir++) {
+                    int nx = x + DX[dir];
+                    int ny = y + DY[dir];
+                    if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                        continue;
+                    }
+                    int next = ny * width + nx;
+                    if (!isPassable(maze, next, source, target)) {
+                        continue;
+                    }
+                    CellType type = next == target ? CellType.END : maze.get(next);
+                    int newDistance = distance + costs.cost(type);
+                    if (newDistance < search.distance(next)) {
+                        search.reach(next, newDistance, current);
+                        buckets.add(newDistance, next);
+                    }
+                }
+            }
+            buckets.clear(bucket);
+        }
+
+        if (!search.isReached(target)) {
+            return budget.notFound();
+        }
+        return budget.found(buildPath(target, search.predecessors(), width));
+    }
+
+    private Buckets buckets() {
+        if (buckets == null) {
+            buckets = new Buckets(costs.maxCost() + 1);
+        } else {
+            buckets.clearAll();
+        }
+        return buckets;
+    }
+
+    /**
+     * Круговой массив корзин, каждая — растущий массив {@code int[]} индексов клеток. Устаревшие записи (клетка позже
+     * нашлась дешевле) не удаляются, а пропускаются при извлечении.
+     */
+    private static final class Buckets {
+
+        private final int[][] cells;
+        private final int[] sizes;
+        private int total;
+
+        Buckets(int count) {
+            this.cells = new int[count][INITIAL_BUCKET_CAPACITY];
+            this.sizes = new int[count];
+        }
+
+        int slot(int distance) {
+            return distance % cells.length;
+        }
+
+        void add(int distance, int cell) {
+            int bucket = slot(distance);
+            if (sizes[bucket] == cells[bucket].length) {
+                cells[bucket] = Arrays.copyOf(cells[bucket], cells[bucket].length * 2);
+            }
+            cells[bucket][sizes[bucket]++] = cell;
+            total++;
+        }
+
+        int size(int bucket) {
+            return sizes[bucket];
+        }
+
+        int get(int bucket, int i) {
+            return cells[bucket][i];
+        }
+
+        void clear(int bucket) {
+            total -= sizes[bucket];
+            sizes[bucket] = 0;
+        }
+
+        /** Очищает все корзины; после остановки по бюджету в них могут остаться клетки. */
+        void clearAll() {
+            Arrays.fill(sizes, 0);
+            total = 0;
+        }
+
+        boolean isEmpty() {
+            return total == 0;
+        }
+    }
+}
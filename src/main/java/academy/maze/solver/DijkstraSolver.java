@@ -1,18 +1,17 @@
 package academy.maze.solver;
 
 import academy.maze.dto.Maze;
-import academy.maze.dto.Path;
 import academy.maze.dto.Point;
 
 public class DijkstraSolver extends PriorityQueueSolver {
 
     @Override
-    public Path solve(Maze maze, Point start, Point end) {
-        return findShortestPath(maze, start, end);
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        return findShortestPath(maze, start, end, budget);
     }
 
     @Override
-    int computePriority(int distance, Point current, Point target) {
+    int computePriority(int distance, int x, int y, int targetX, int targetY) {
         return distance;
     }
 }
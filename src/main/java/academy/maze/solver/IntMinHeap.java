@@ -0,0 +1,96 @@
+package academy.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Двоичная min-куча пар (приоритет, клетка) на примитивном массиве.
+ *
+ * <p>Пара упаковывается в один {@code long}: старшие 32 бита — приоритет, младшие — индекс клетки. Поэтому сравнение
+ * элементов — одно сравнение чисел, а при равных приоритетах первой извлекается клетка с меньшим индексом. Устаревшие
+ * записи не удаляются (ленивое удаление), их отбрасывает вызывающий код.
+ */
+final class IntMinHeap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final long CELL_MASK = 0xFFFF_FFFFL;
+
+    private long[] entries;
+    private int size;
+
+    IntMinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntMinHeap(int capacity) {
+        this.entries = new long[Math.max(capacity, 1)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Добавляет клетку в кучу.
+     *
+     * @param cell индекс клетки, неотрицательный.
+     * @param priority приоритет, неотрицательный.
+     */
+    void add(int cell, int priority) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length << 1);
+        }
+        long entry = ((long) priority << 32) | (cell & CELL_MASK);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long parentEntry = entries[parent];
+            if (parentEntry <= entry) {
+                break;
+            }
+            entries[i] = parentEntry;
+            i = parent;
+        }
+        entries[i] = entry;
+    }
+
+    /** Приоритет минимального элемента. Куча не должна быть пустой. */
+    int peekPriority() {
+        return (int) (entries[0] >>> 32);
+    }
+
+    /**
+     * Извлекает клетку с минимальным приоритетом. Куча не должна быть пустой.
+     *
+     * @return индекс клетки.
+     */
+    int poll() {
+        long top = entries[0];
+        long last = entries[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            long childEntry = entries[child];
+            int right = child + 1;
+            if (right < size && entries[right] < childEntry) {
+                child = right;
+                childEntry = entries[right];
+            }
+            if (last <= childEntry) {
+                break;
+            }
+            entries[i] = childEntry;
+            i = child;
+        }
+        entries[i] = last;
+        return (int) (top & CELL_MASK);
+    }
+}
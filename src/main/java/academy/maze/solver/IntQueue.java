@@ -0,0 +1,63 @@
+package academy.maze.solver;
+
+/**
+ * Очередь индексов клеток на кольцевом буфере {@code int[]}. Ёмкость — степень двойки, поэтому переход через конец
+ * массива — одна операция {@code & mask}. При заполнении буфер удваивается.
+ */
+final class IntQueue {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] cells;
+    private int mask;
+    private int head;
+    private int size;
+
+    IntQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntQueue(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 1) - 1 | 1) << 1;
+        this.cells = new int[length];
+        this.mask = length - 1;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    void add(int cell) {
+        if (size == cells.length) {
+            grow();
+        }
+        cells[(head + size) & mask] = cell;
+        size++;
+    }
+
+    int poll() {
+        int cell = cells[head];
+        head = (head + 1) & mask;
+        size--;
+        return cell;
+    }
+
+    private void grow() {
+        int[] grown = new int[cells.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = cells[(head + i) & mask];
+        }
+        cells = grown;
+        mask = grown.length - 1;
+        head = 0;
+    }
+}
@@ -0,0 +1,213 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jump Point Search для сетки с четырьмя соседями. Это A* с манхэттенской эвристикой, но в очередь попадают не все
+ * клетки, а только точки прыжка: из клетки поиск идёт по прямой, пока не упрётся в стену, не дойдёт до финиша или не
+ * встретит клетку, где кратчайший путь может повернуть. Симметричные пути через открытые области не перебираются,
+ * поэтому в больших комнатах раскрывается на порядки меньше клеток, чем у {@link AStarSolver}. Результат кратчайший.
+ *
+ * <p>Правила отсечения для четырёх направлений:
+ *
+ * <ul>
+ *   <li>горизонтальный прыжок останавливается в клетке, у которой сверху или снизу открыта клетка, закрытая для
+ *       предыдущей клетки по ходу движения (вынужденный сосед);
+ *   <li>вертикальный прыжок на каждом шаге пробует горизонтальные прыжки в обе стороны и останавливается, если один из
+ *       них что-то нашёл;
+ *   <li>из точки, куда пришли горизонтально, поиск продолжается прямо и к вынужденным соседям, а из точки, куда пришли
+ *       вертикально, — прямо и в обе стороны по горизонтали.
+ * </ul>
+ *
+ * <p>Один прыжок может просмотреть целую открытую комнату, поэтому в бюджет поиска засчитывается не только каждая
+ * извлечённая точка прыжка, но и каждая клетка, просмотренная при прыжке.
+ *
+ * <p>Расстояния, предшественники, закрытые клетки и очередь берутся из переиспользуемого {@link SearchWorkspace}, так
+ * что подготовка к запросу не зависит от размера лабиринта.
+ */
+public class JumpPointSolver extends AbstractSolver {
+
+    private static final int NOT_FOUND = -1;
+
+    /** Направление, которым пришли в точку прыжка: индекс в {@link #DX}/{@link #DY} или отсутствие для старта. */
+    private static final byte NO_DIRECTION = -1;
+
+    private static final int RIGHT = 0;
+    private static final int LEFT = 1;
+    private static final int DOWN = 2;
+    private static final int UP = 3;
+
+    @Override
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        ensureMazeHasNoPath(maze);
+        int width = maze.width();
+        int height = maze.height();
+        int source = toIndex(start, width, height);
+        int target = toIndex(end, width, height);
+
+        SearchWorkspace workspace = workspace(maze);
+        Search search = new Search(maze, source, target, workspace, budget);
+        workspace.reach(source, 0, NO_CELL);
+        search.arrival[source] = NO_DIRECTION;
+        search.queue.add(source, search.heuristic(source));
+
+        while (!search.queue.isEmpty()) {
+            int current = search.queue.poll();
+            if (workspace.isClosed(current)) {
+                continue;
+            }
+            if (current == target) {
+                break;
+            }
+            if (!budget.tryExpand()) {
+                return budget.notFound();
+            }
+            workspace.close(current);
+            search.expandSuccessors(current);
+            if (budget.isExhausted()) {
+                return budget.notFound();
+            }
+        }
+
+        if (!workspace.isReached(target)) {
+            return budget.notFound();
+        }
+        return budget.found(buildStraightPath(target, workspace.predecessors(), width));
+    }
+
+    /** Восстанавливает путь по точкам прыжка, достраивая прямые отрезки между ними. */
+    private Path buildStraightPath(int target, int[] previous, int width) {
+        List<Point> reversed = new ArrayList<>();
+        int cell = target;
+        while (previous[cell] != NO_CELL) {
+            int parent = previous[cell];
+            int step = Integer.signum(parent % width - cell % width)
+                    + Integer.signum(parent / width - cell / width) * width;
+            for (int c = cell; c != parent; c += step) {
+                reversed.add(new Point(c % width, c / width));
+            }
+            cell = parent;
+        }
+        reversed.add(new Point(cell % width, cell / width));
+
+        Point[] points = new Point[reversed.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = reversed.get(points.length - 1 - i);
+        }
+        return new Path(points);
+    }
+
+    /** Состояние одного поиска поверх рабочих массивов решателя. */
+    private static final class Search {
+
+        private final Maze maze;
+        private final int width;
+        private final int height;
+        private final int source;
+        private final int target;
+        private final int targetX;
+        private final int targetY;
+        private final SearchWorkspace workspace;
+        private final byte[] arrival;
+        private final IntMinHeap queue;
+        private final SearchBudget budget;
+
+        Search(Maze maze, int source, int target, SearchWorkspace workspace, SearchBudget budget) {
+            this.maze = maze;
+            this.source = source;
+            this.workspace = workspace;
+            this.arrival = workspace.arrivals();
+            this.queue = workspace.heap;
+            this.budget = budget;
+            this.width = maze.width();
+            this.height = maze.height();
+            this.target = target;
+            this.targetX = target % width;
+            this.targetY = target / width;
+        }
+
+        int heuristic(int cell) {
+            return Math.abs(cell % width - targetX) + Math.abs(cell / width - targetY);
+        }
+
+        void expandSuccessors(int cell) {
+            int x = cell % width;
+            int y = cell / width;
+            byte direction = arrival[cell];
+            if (direction == NO_DIRECTION) {
+                for (int dir = 0; dir < DX.length; dir++) {
+                    jumpFrom(cell, x, y, dir);
+                }
+            } else if (DY[direction] == 0) {
+                int dx = DX[direction];
+                jumpFrom(cell, x, y, direction);
+                if (isOpen(x, y - 1) && !isOpen(x - dx, y - 1)) {
+                    jumpFrom(cell, x, y, UP);
+                }
+                if (isOpen(x, y + 1) && !isOpen(x - dx, y + 1)) {
+                    jumpFrom(cell, x, y, DOWN);
+                }
+            } else {
+                jumpFrom(cell, x, y, direction);
+                jumpFrom(cell, x, y, RIGHT);
+                jumpFrom(cell, x, y, LEFT);
+            }
+        }
+
+        private void jumpFrom(int cell, int x, int y, int direction) {
+            int jumpPoint =
+                    DY[direction] == 0 ? jumpHorizontal(x, y, DX[direction]) : jumpVertical(x, y, DY[direction]);
+            if (jumpPoint == NOT_FOUND || workspace.isClosed(jumpPoint)) {
+                return;
+            }
+            int distance = workspace.distance(cell) + Math.abs(jumpPoint % width - x) + Math.abs(jumpPoint / width - y);
+            if (distance < workspace.distance(jumpPoint)) {
+                workspace.reach(jumpPoint, distance, cell);
+                arrival[jumpPoint] = (byte) direction;
+                queue.add(jumpPoint, distance + heuristic(jumpPoint));
+            }
+        }
+
+        private int jumpHorizontal(int x, int y, int dx) {
+            int cx = x;
+            while (true) {
+                cx += dx;
+                if (!isOpen(cx, y) || !budget.tryExpand()) {
+                    return NOT_FOUND;
+                }
+                int cell = y * width + cx;
+                if (cell == target) {
+                    return cell;
+                }
+                if ((isOpen(cx, y - 1) && !isOpen(cx - dx, y - 1)) || (isOpen(cx, y + 1) && !isOpen(cx - dx, y + 1))) {
+                    return cell;
+                }
+            }
+        }
+
+        private int jumpVertical(int x, int y, int dy) {
+            int cy = y;
+            while (true) {
+                cy += dy;
+                if (!isOpen(x, cy) || !budget.tryExpand()) {
+                    return NOT_FOUND;
+                }
+                int cell = cy * width + x;
+                if (cell == target) {
+                    return cell;
+                }
+                if (jumpHorizontal(x, cy, 1) != NOT_FOUND || jumpHorizontal(x, cy, -1) != NOT_FOUND) {
+                    return cell;
+                }
+            }
+        }
+
+        private boolean isOpen(int x, int y) {
+            return x >= 0 && x < width && y >= 0 && y < height && isPassable(maze, y * width + x, source, target);
+        }
+    }
+}
@@ -1,56 +1,61 @@
 package academy.maze.solver;
 
-import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
-import academy.maze.dto.Path;
-import academy.maze.dto.PathNode;
 import academy.maze.dto.Point;
-import java.util.*;
 
 public abstract class PriorityQueueSolver extends AbstractSolver {
 
-    protected Path findShortestPath(Maze maze, Point begin, Point goal) {
+    protected SearchResult findShortestPath(Maze maze, Point begin, Point goal, SearchBudget budget) {
         ensureMazeHasNoPath(maze);
-        Queue<PathNode> queue = new PriorityQueue<>();
-        Map<Point, Point> previous = new HashMap<>();
-        Map<Point, Integer> distances = new HashMap<>();
+        int width = maze.width();
+        int height = maze.height();
+        int source = toIndex(begin, width, height);
+        int target = toIndex(goal, width, height);
 
-        queue.add(new PathNode(begin, 0));
-        previous.put(begin, null);
-        distances.put(begin, 0);
+        SearchWorkspace search = workspace(maze);
+        IntMinHeap queue = search.heap;
 
-        while (!queue.isEmpty()) {
-            PathNode node = queue.poll();
-            Point current = node.position();
+        search.reach(source, 0, NO_CELL);
+        queue.add(source, computePriority(0, begin.x(), begin.y(), goal.x(), goal.y()));
 
-            if (current.equals(goal)) {
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (search.isClosed(current)) {
+                continue;
+            }
+            if (current == target) {
                 break;
             }
-
-            for (Point next : getAdjacentPoints(current, maze)) {
-                int newDistance = distances.get(current) + 1;
-
-                if (!distances.containsKey(next) || newDistance < distances.get(next)) {
-                    distances.put(next, newDistance);
-                    int priority = computePriority(newDistance, next, goal);
-                    queue.add(new PathNode(next, priority));
-                    previous.put(next, current);
+            if (!budget.tryExpand()) {
+                return budget.notFound();
+            }
+            search.close(current);
+
+            int x = current % width;
+            int y = current / width;
+            int newDistance = search.distance(current) + 1;
+            for (int dir = 0; dir < DX.length; dir++) {
+                int nx = x + DX[dir];
+                int ny = y + DY[dir];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (!isPassable(maze, next, source, target)) {
+                    continue;
+                }
+                if (newDistance < search.distance(next)) {
+                    search.reach(next, newDistance, current);
+                    queue.add(next, computePriority(newDistance, nx, ny, goal.x(), goal.y()));
                 }
             }
         }
 
-        return buildPath(goal, previous);
-    }
-
-    private void ensureMazeHasNoPath(Maze maze) {
-        for (CellType[] row : maze.cells()) {
-            for (CellType c : row) {
-                if (c == CellType.PATH) {
-                    throw new IllegalStateException("В лабиринте уже есть решение (найдены клетки PATH)");
-                }
-            }
+        if (!search.isReached(target)) {
+            return budget.notFound();
         }
+        return budget.found(buildPath(target, search.predecessors(), width));
     }
 
-    abstract int computePriority(int distance, Point current, Point target);
+    abstract int computePriority(int distance, int x, int y, int targetX, int targetY);
 }
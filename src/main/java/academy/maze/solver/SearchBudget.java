@@ -0,0 +1,72 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Path;
+
+/**
+ * Счётчик одного поиска по {@link SearchLimits}. Решатель вызывает {@link #tryExpand()} перед раскрытием каждой клетки
+ * и прекращает поиск, получив {@code false}. Число раскрытий проверяется каждый раз, а часы и флаг отмены — на первой
+ * клетке и дальше раз в {@value #CHECK_INTERVAL} клеток, чтобы {@link System#nanoTime()} и чтение volatile-поля не
+ * стоили заметно на каждом шаге.
+ */
+public final class SearchBudget {
+
+    private static final int CHECK_INTERVAL = 1024;
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long maxExpansions;
+    private final long startedAt;
+    private final long timeoutNanos;
+    private final CancellationToken cancellation;
+    private long expanded;
+    private SearchResult.Status stopReason;
+
+    SearchBudget(long maxExpansions, long timeoutNanos, CancellationToken cancellation) {
+        this.maxExpansions = maxExpansions;
+        this.timeoutNanos = timeoutNanos;
+        this.cancellation = cancellation;
+        this.startedAt = System.nanoTime();
+    }
+
+    /** Учитывает раскрытие ещё одной клетки; {@code false} — лимит исчерпан и поиск нужно прекратить. */
+    public boolean tryExpand() {
+        if (stopReason != null) {
+            return false;
+        }
+        if (expanded >= maxExpansions) {
+            stopReason = SearchResult.Status.BUDGET_EXCEEDED;
+            return false;
+        }
+        if ((expanded & (CHECK_INTERVAL - 1)) == 0) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                stopReason = SearchResult.Status.CANCELLED;
+                return false;
+            }
+            if (timeoutNanos != UNLIMITED && System.nanoTime() - startedAt > timeoutNanos) {
+                stopReason = SearchResult.Status.BUDGET_EXCEEDED;
+                return false;
+            }
+        }
+        expanded++;
+        return true;
+    }
+
+    /** Отказал ли бюджет хотя бы раз; дальше {@link #tryExpand()} всегда возвращает {@code false}. */
+    public boolean isExhausted() {
+        return stopReason != null;
+    }
+
+    /** Сколько клеток раскрыто. */
+    public long expanded() {
+        return expanded;
+    }
+
+    /** Результат с найденным путём. */
+    public SearchResult found(Path path) {
+        return new SearchResult(SearchResult.Status.FOUND, path, expanded);
+    }
+
+    /** Результат без пути: причина остановки по лимиту или, если лимиты не сработали, отсутствие пути. */
+    public SearchResult notFound() {
+        return new SearchResult(stopReason != null ? stopReason : SearchResult.Status.NO_PATH, null, expanded);
+    }
+}
@@ -0,0 +1,67 @@
+package academy.maze.solver;
+
+import java.time.Duration;
+
+/**
+ * Ограничения одного поиска пути: наибольшее число раскрытых клеток, время на поиск и флаг отмены. Объект неизменяемый:
+ * методы {@code with...} возвращают новые ограничения, поэтому один объект можно передавать в любое число поисков.
+ * Время отсчитывается от начала каждого поиска.
+ */
+public final class SearchLimits {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    private static final SearchLimits NONE = new SearchLimits(UNLIMITED, UNLIMITED, null);
+
+    private final long maxExpansions;
+    private final long timeoutNanos;
+    private final CancellationToken cancellation;
+
+    private SearchLimits(long maxExpansions, long timeoutNanos, CancellationToken cancellation) {
+        this.maxExpansions = maxExpansions;
+        this.timeoutNanos = timeoutNanos;
+        this.cancellation = cancellation;
+    }
+
+    /** Без ограничений: поиск идёт, пока не найдёт путь или не переберёт все достижимые клетки. */
+    public static SearchLimits none() {
+        return NONE;
+    }
+
+    /**
+     * Ограничения, в которых поиск раскрывает не больше {@code maxExpansions} клеток.
+     *
+     * @throws IllegalArgumentException если число не положительное.
+     */
+    public SearchLimits withMaxExpansions(long maxExpansions) {
+        if (maxExpansions < 1) {
+            throw new IllegalArgumentException("Число раскрываемых клеток должно быть положительным: " + maxExpansions);
+        }
+        return new SearchLimits(maxExpansions, timeoutNanos, cancellation);
+    }
+
+    /**
+     * Ограничения, в которых поиск идёт не дольше {@code timeout}.
+     *
+     * @throws IllegalArgumentException если время не положительное или не помещается в {@code long} наносекунд.
+     */
+    public SearchLimits withTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Время на поиск должно быть положительным: " + timeout);
+        }
+        try {
+            return new SearchLimits(maxExpansions, timeout.toNanos(), cancellation);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Время на поиск слишком велико: " + timeout, e);
+        }
+    }
+
+    /** Ограничения, в которых поиск останавливается после {@link CancellationToken#cancel()}. */
+    public SearchLimits withCancellation(CancellationToken cancellation) {
+        return new SearchLimits(maxExpansions, timeoutNanos, cancellation);
+    }
+
+    /** Бюджет для нового поиска: время начинает отсчитываться сейчас. */
+    SearchBudget start() {
+        return new SearchBudget(maxExpansions, timeoutNanos, cancellation);
+    }
+}
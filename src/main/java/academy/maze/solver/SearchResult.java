@@ -0,0 +1,43 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Path;
+
+/**
+ * Результат поиска пути с ограничениями.
+ *
+ * @param status чем закончился поиск.
+ * @param path найденный путь или {@code null}, если путь не найден.
+ * @param expanded сколько клеток раскрыто за поиск.
+ */
+public record SearchResult(Status status, Path path, long expanded) {
+
+    /** Чем закончился поиск. */
+    public enum Status {
+        /** Путь найден. */
+        FOUND,
+        /** Все достижимые клетки просмотрены, пути нет. */
+        NO_PATH,
+        /** Поиск остановлен по числу раскрытых клеток или по времени. */
+        BUDGET_EXCEEDED,
+        /** Поиск остановлен через {@link CancellationToken}. */
+        CANCELLED
+    }
+
+    public boolean isFound() {
+        return status == Status.FOUND;
+    }
+
+    /**
+     * Найденный путь.
+     *
+     * @throws RuntimeException если путь не найден, с причиной в сообщении.
+     */
+    public Path orElseThrow() {
+        return switch (status) {
+            case FOUND -> path;
+            case NO_PATH -> throw new RuntimeException("Решение не найдено");
+            case BUDGET_EXCEEDED -> throw new RuntimeException("Превышен бюджет поиска: раскрыто клеток " + expanded);
+            case CANCELLED -> throw new RuntimeException("Поиск отменён");
+        };
+    }
+}
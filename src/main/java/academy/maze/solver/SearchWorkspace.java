@@ -0,0 +1,83 @@
+package academy.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Рабочие массивы поиска, переиспользуемые между запросами. Вместо очистки массивов размером с лабиринт перед каждым
+ * поиском клетки помечаются номером текущего поиска: клетка считается достигнутой (или закрытой), только если её метка
+ * совпадает с этим номером. Поэтому подготовка к новому поиску — O(1), а не O(V).
+ *
+ * <p>Не потокобезопасен: у каждого потока должен быть свой экземпляр.
+ */
+final class SearchWorkspace {
+
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    private int[] distances = new int[0];
+    private int[] previous = new int[0];
+    private int[] reached = new int[0];
+    private int[] closed = new int[0];
+    private byte[] arrivals = new byte[0];
+    private int stamp;
+
+    final IntQueue queue = new IntQueue();
+    final IntMinHeap heap = new IntMinHeap();
+
+    /** Готовит рабочие массивы к новому поиску в лабиринте из {@code size} клеток. */
+    void reset(int size) {
+        if (reached.length < size) {
+            distances = new int[size];
+            previous = new int[size];
+            reached = new int[size];
+            closed = new int[size];
+            stamp = 0;
+        }
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(closed, 0);
+            stamp = 0;
+        }
+        stamp++;
+        queue.clear();
+        heap.clear();
+    }
+
+    boolean isReached(int cell) {
+        return reached[cell] == stamp;
+    }
+
+    /** Расстояние до клетки в текущем поиске или {@link #UNREACHED}. */
+    int distance(int cell) {
+        return reached[cell] == stamp ? distances[cell] : UNREACHED;
+    }
+
+    void reach(int cell, int distance, int predecessor) {
+        reached[cell] = stamp;
+        distances[cell] = distance;
+        previous[cell] = predecessor;
+    }
+
+    boolean isClosed(int cell) {
+        return closed[cell] == stamp;
+    }
+
+    void close(int cell) {
+        closed[cell] = stamp;
+    }
+
+    /** Предшественники клеток; верны только для клеток, достигнутых в текущем поиске. */
+    int[] predecessors() {
+        return previous;
+    }
+
+    /**
+     * Направления, которыми пришли в клетки, для {@link JumpPointSolver}. Массив выделяется при первом обращении, чтобы
+     * остальные решатели за него не платили; значения верны только для клеток, достигнутых в текущем поиске.
+     */
+    byte[] arrivals() {
+        if (arrivals.length < reached.length) {
+            arrivals = new byte[reached.length];
+        }
+        return arrivals;
+    }
+}
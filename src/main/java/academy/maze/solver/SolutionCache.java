@@ -0,0 +1,178 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Кэш найденных путей, общий для потоков. Ключ — {@link Maze#terrainHash()} с размерами лабиринта, клетки старта и
+ * финиша и алгоритм, так что повторный запрос к тому же лабиринту отвечается без поиска, даже если лабиринт загружен
+ * заново или START и END расставлены в нём по-другому.
+ *
+ * <p>Путь хранится сжато: клетка старта известна из ключа, а каждый шаг — одно из четырёх направлений, 2 бита, то есть
+ * четыре шага в байте. Вес записи — длина пути; при превышении общего веса Caffeine вытесняет редко используемые пути.
+ * Запросы, на которые решатель бросил исключение (нет пути, точка на стене), не кэшируются, как и поиски с
+ * ограничениями, остановленные до ответа.
+ *
+ * <p>Поиск идёт вне блокировок кэша: запись читается через {@code getIfPresent} и кладётся после поиска, поэтому долгий
+ * поиск в большом лабиринте не задерживает записи с другими ключами. Два одновременных одинаковых запроса могут оба
+ * искать путь, запомнится любой из ответов. Хэш рельефа не криптографический, поэтому путь из кэша перед выдачей
+ * проверяется: все его клетки должны быть проходимы в этом лабиринте и он должен кончаться в финише. Путь, не прошедший
+ * проверку (коллизия хэша), удаляется и ищется заново.
+ */
+public final class SolutionCache {
+
+    /** Вес кэша по умолчанию — 16 Ми клеток путей, около 4 МиБ в сжатом виде. */
+    public static final long DEFAULT_MAX_CELLS = 16L << 20;
+
+    private static final int STEPS_PER_BYTE = 4;
+    private static final int BITS_PER_STEP = 2;
+    private static final int STEP_MASK = (1 << BITS_PER_STEP) - 1;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final Cache<Key, byte[]> cache;
+
+    /** @param maxCells наибольшее суммарное число клеток закэшированных путей. */
+    public SolutionCache(long maxCells) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxCells)
+                .weigher((Key key, byte[] encoded) -> Math.max(1, pathLength(encoded)))
+                .recordStats()
+                .build();
+    }
+
+    /** @param algorithm значение с {@code equals}/{@code hashCode}, которое различает решатели и их настройки. */
+    private record Key(long terrain, int width, int height, int start, int end, Object algorithm) {}
+
+    /**
+     * Путь из кэша или от {@code solver}, если такого запроса ещё не было. Точки вне лабиринта передаются решателю
+     * напрямую, чтобы он сообщил об ошибке.
+     */
+    Path solve(Maze maze, Point start, Point end, Object algorithm, Solver solver) {
+        return solve(maze, start, end, algorithm, solver, SearchLimits.none()).orElseThrow();
+    }
+
+    /**
+     * Путь из кэша или от {@code solver} с ограничениями {@code limits}. Попадание отвечается без поиска при любых
+     * ограничениях; в кэш попадают только найденные пути, а исчерпанный бюджет или отмена ничего не запоминают.
+     */
+    SearchResult solve(Maze maze, Point start, Point end, Object algorithm, Solver solver, SearchLimits limits) {
+        if (!maze.contains(start.x(), start.y()) || !maze.contains(end.x(), end.y())) {
+            return solver.solve(maze, start, end, limits);
+        }
+        Key key = new Key(
+                maze.terrainHash(),
+                maze.width(),
+                maze.height(),
+                maze.index(start.x(), start.y()),
+                maze.index(end.x(), end.y()),
+                algorithm);
+        byte[] encoded = cache.getIfPresent(key);
+        if (encoded != null) {
+            Path cached = decode(encoded, start);
+            if (isWalkable(cached, maze, end)) {
+                return new SearchResult(SearchResult.Status.FOUND, cached, 0);
+            }
+            cache.asMap().remove(key, encoded);
+        }
+        SearchResult result = solver.solve(maze, start, end, limits);
+        if (result.isFound()) {
+            cache.put(key, encode(result.path(), start));
+        }
+        return result;
+    }
+
+    /** Счётчики попаданий, промахов и вытеснений. */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /** Число клеток пути, затем направления шагов по 2 бита — индексы в {@link AbstractSolver#DX}. */
+    private static byte[] encode(Path path, Point start) {
+        Point[] points = path.points();
+        if (points.length > 0 && !points[0].equals(start)) {
+            throw new IllegalStateException("Путь начинается не в стартовой точке: " + points[0]);
+        }
+        int steps = Math.max(0, points.length - 1);
+        byte[] encoded = new byte[LENGTH_BYTES + (steps + STEPS_PER_BYTE - 1) / STEPS_PER_BYTE];
+        writeLength(encoded, points.length);
+        for (int i = 0; i < steps; i++) {
+            int direction = direction(points[i], points[i + 1]);
+            encoded[LENGTH_BYTES + i / STEPS_PER_BYTE] |= (byte) (direction << (i % STEPS_PER_BYTE * BITS_PER_STEP));
+        }
+        return encoded;
+    }
+
+    private static Path decode(byte[] encoded, Point start) {
+        Point[] points = new Point[pathLength(encoded)];
+        if (points.length == 0) {
+            return new Path(points);
+        }
+        int x = start.x();
+        int y = start.y();
+        points[0] = start;
+        for (int i = 1; i < points.length; i++) {
+            int step = i - 1;
+            int direction =
+                    encoded[LENGTH_BYTES + step / STEPS_PER_BYTE] >> (step % STEPS_PER_BYTE * BITS_PER_STEP) & 3;
+            x += AbstractSolver.DX[direction];
+            y += AbstractSolver.DY[direction];
+            points[i] = new Point(x, y);
+        }
+        return new Path(points);
+    }
+
+    /**
+     * Проходит ли путь только по проходимым клеткам лабиринта и кончается ли в {@code end}. Концы пути, как и в
+     * решателях, могут стоять на стене.
+     */
+    private static boolean isWalkable(Path path, Maze maze, Point end) {
+        Point[] points = path.points();
+        if (points.length == 0 || !points[points.length - 1].equals(end)) {
+            return false;
+        }
+        for (int i = 0; i < points.length; i++) {
+            Point point = points[i];
+            if (!maze.contains(point.x(), point.y())) {
+                return false;
+            }
+            boolean endpoint = i == 0 || i == points.length - 1;
+            if (!endpoint && maze.isWall(maze.index(point.x(), point.y()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int direction(Point from, Point to) {
+        int dx = to.x() - from.x();
+        int dy = to.y() - from.y();
+        for (int direction = 0; direction < AbstractSolver.DX.length; direction++) {
+            if (AbstractSolver.DX[direction] == dx && AbstractSolver.DY[direction] == dy) {
+                return direction;
+            }
+        }
+        throw new IllegalStateException("Соседние точки пути не являются соседними клетками: " + from + " -> " + to);
+    }
+
+    private static void writeLength(byte[] encoded, int length) {
+        for (int i = 0; i < LENGTH_BYTES; i++) {
+            encoded[i] = (byte) (length >>> (Byte.SIZE * (LENGTH_BYTES - 1 - i)));
+        }
+    }
+
+    private static int pathLength(byte[] encoded) {
+        int length = 0;
+        for (int i = 0; i < LENGTH_BYTES; i++) {
+            length = length << Byte.SIZE | encoded[i] & 0xFF;
+        }
+        return length;
+    }
+}
@@ -16,4 +16,18 @@ public interface Solver {
      * @return путь в лабиринте.
      */
     Path solve(Maze maze, Point start, Point end);
+
+    /**
+     * Решение лабиринта с ограничениями на объём поиска. Вместо исключения при отсутствии пути возвращается результат с
+     * причиной: пути нет, исчерпан бюджет или поиск отменён.
+     *
+     * <p>Реализация по умолчанию ограничения не соблюдает: она вызывает {@link #solve(Maze, Point, Point)} и годится
+     * для решателей, которые отвечают без поиска.
+     *
+     * @param limits число раскрываемых клеток, время на поиск и флаг отмены.
+     * @throws IllegalArgumentException если точка вне лабиринта.
+     */
+    default SearchResult solve(Maze maze, Point start, Point end, SearchLimits limits) {
+        return new SearchResult(SearchResult.Status.FOUND, solve(maze, start, end), 0);
+    }
 }
@@ -0,0 +1,201 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Path;
+import academy.maze.dto.Point;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Индекс путей для идеального лабиринта. Если граф проходимых клеток — лес (без циклов), путь между двумя клетками
+ * единственный, и искать его заново для каждой пары не нужно. Индекс строится один раз за O(V): каждая компонента
+ * подвешивается за корень, для клеток запоминаются родитель и глубина, а дерево разбивается на тяжёлые цепочки
+ * (heavy-light decomposition).
+ *
+ * <p>Наименьший общий предок двух клеток находится подъёмом по цепочкам за O(log V), так что длина пути —
+ * {@code depth(a) + depth(b) - 2 * depth(lca)} — считается за O(log V), а сам путь выписывается за O(длины пути).
+ * Память — несколько массивов {@code int[]} по числу клеток, без таблиц двоичных подъёмов размера V log V.
+ */
+public final class TreePathIndex {
+
+    private static final int NOT_INDEXED = -1;
+
+    private final int width;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] head;
+    private final int[] component;
+
+    private TreePathIndex(int width, int[] parent, int[] depth, int[] head, int[] component) {
+        this.width = width;
+        this.parent = parent;
+        this.depth = depth;
+        this.head = head;
+        this.component = component;
+    }
+
+    /**
+     * Строит индекс для лабиринта.
+     *
+     * @return индекс или пустой результат, если в лабиринте есть цикл и путь между клетками может быть не единственным.
+     */
+    public static Optional<TreePathIndex> build(Maze maze) {
+        int size = maze.size();
+        int width = maze.width();
+        int height = maze.height();
+        int[] parent = new int[size];
+        int[] depth = new int[size];
+        int[] component = new int[size];
+        int[] order = new int[size];
+        Arrays.fill(component, NOT_INDEXED);
+
+        int ordered = 0;
+        for (int root = 0; root < size; root++) {
+            if (maze.isWall(root) || component[root] != NOT_INDEXED) {
+                continue;
+            }
+            component[root] = root;
+            parent[root] = AbstractSolver.NO_CELL;
+            order[ordered++] = root;
+            for (int i = ordered - 1; i < ordered; i++) {
+                int cell = order[i];
+                int x = cell % width;
+                int y = cell / width;
+                for (int dir = 0; dir < AbstractSolver.DX.length; dir++) {
+                    int nx = x + AbstractSolver.DX[dir];
+                    int ny = y + AbstractSolver.DY[dir];
+                    if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                        continue;
+                    }
+                    int next = ny * width + nx;
+                    if (maze.isWall(next) || next == parent[cell]) {
+                        continue;
+                    }
+                    if (component[next] != NOT_INDEXED) {
+                        return Optional.empty();
+                    }
+                    component[next] = root;
+                    parent[next] = cell;
+                    depth[next] = depth[cell] + 1;
+                    order[ordered++] = next;
+                }
+            }
+        }
+        return Optional.of(new TreePathIndex(width, parent, depth, decompose(order, ordered, parent), component));
+    }
+
+    /**
+     * Разбиение на тяжёлые цепочки. {@code order} — порядок обхода в ширину, родитель в нём всегда раньше потомков,
+     * поэтому размеры поддеревьев считаются проходом с конца, а головы цепочек — проходом с начала.
+     */
+    private static int[] decompose(int[] order, int count, int[] parent) {
+        int size = parent.length;
+        int[] subtree = new int[size];
+        int[] heavy = new int[size];
+        Arrays.fill(heavy, NOT_INDEXED);
+        for (int i = count - 1; i >= 0; i--) {
+            int cell = order[i];
+            subtree[cell]++;
+            int up = parent[cell];
+            if (up != AbstractSolver.NO_CELL) {
+                subtree[up] += subtree[cell];
+                if (heavy[up] == NOT_INDEXED || subtree[cell] > subtree[heavy[up]]) {
+                    heavy[up] = cell;
+                }
+            }
+        }
+
+        int[] head = new int[size];
+        for (int i = 0; i < count; i++) {
+            int cell = order[i];
+            int up = parent[cell];
+            head[cell] = up != AbstractSolver.NO_CELL && heavy[up] == cell ? head[up] : cell;
+        }
+        return head;
+    }
+
+    /** Проходима ли клетка и попала ли она в индекс. */
+    public boolean contains(Point point) {
+        int cell = point.y() * width + point.x();
+        return point.x() >= 0
+                && point.x() < width
+                && cell >= 0
+                && cell < component.length
+                && component[cell] != NOT_INDEXED;
+    }
+
+    /** Соединены ли две проходимые клетки. */
+    public boolean connected(Point from, Point to) {
+        return component[indexOf(from)] == component[indexOf(to)];
+    }
+
+    /**
+     * Число шагов между двумя клетками за O(log V).
+     *
+     * @throws RuntimeException если клетки в разных компонентах.
+     */
+    public int distance(Point from, Point to) {
+        int a = indexOf(from);
+        int b = indexOf(to);
+        ensureConnected(a, b);
+        return depth[a] + depth[b] - 2 * depth[lowestCommonAncestor(a, b)];
+    }
+
+    /**
+     * Единственный путь между двумя клетками за O(длины пути).
+     *
+     * @throws RuntimeException если клетки в разных компонентах.
+     */
+    public Path path(Point from, Point to) {
+        int a = indexOf(from);
+        int b = indexOf(to);
+        ensureConnected(a, b);
+        int lca = lowestCommonAncestor(a, b);
+        int up = depth[a] - depth[lca];
+        int down = depth[b] - depth[lca];
+
+        Point[] points = new Point[up + down + 1];
+        int cell = a;
+        for (int i = 0; i <= up; i++) {
+            points[i] = toPoint(cell);
+            cell = parent[cell];
+        }
+        cell = b;
+        for (int i = points.length - 1; i > up; i--) {
+            points[i] = toPoint(cell);
+            cell = parent[cell];
+        }
+        return new Path(points);
+    }
+
+    private int lowestCommonAncestor(int a, int b) {
+        int u = a;
+        int v = b;
+        while (head[u] != head[v]) {
+            if (depth[head[u]] > depth[head[v]]) {
+                u = parent[head[u]];
+            } else {
+                v = parent[head[v]];
+            }
+        }
+        return depth[u] < depth[v] ? u : v;
+    }
+
+    private void ensureConnected(int a, int b) {
+        if (component[a] != component[b]) {
+            throw new RuntimeException("Решение не найдено");
+        }
+    }
+
+    private int indexOf(Point point) {
+        if (!contains(point)) {
+            throw new IllegalArgumentException(
+                    "Точка не является проходимой клеткой лабиринта: (" + point.x() + ", " + point.y() + ")");
+        }
+        return point.y() * width + point.x();
+    }
+
+    private Point toPoint(int cell) {
+        return new Point(cell % width, cell / width);
+    }
+}
@@ -0,0 +1,54 @@
+package academy.maze.solver;
+
+import academy.maze.dto.Maze;
+import academy.maze.dto.Point;
+
+/**
+ * Решатель для серий запросов к одному лабиринту. При первом запросе строит {@link TreePathIndex} и дальше отвечает по
+ * нему без поиска. Если лабиринт не идеальный (есть циклы) или точка стоит на стене, запрос передаётся обычному
+ * решателю. Точки из разных компонент связности дают {@link SearchResult.Status#NO_PATH}.
+ *
+ * <p>Индекс зависит только от расположения стен: он перестраивается для другого экземпляра лабиринта или после смены
+ * {@link Maze#layoutVersion()}, а расстановка START и END между запросами его не сбрасывает. Ответ по индексу не
+ * раскрывает клеток и в бюджет поиска не засчитывается; обычный решатель получает тот же бюджет.
+ */
+public class TreePathSolver extends AbstractSolver {
+
+    private final AbstractSolver fallback;
+    private Maze indexedMaze;
+    private int indexedVersion;
+    private TreePathIndex index;
+
+    /** Решатель с поиском в ширину для лабиринтов, не являющихся деревом. */
+    public TreePathSolver() {
+        this(new BfsSolver());
+    }
+
+    public TreePathSolver(AbstractSolver fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    protected SearchResult search(Maze maze, Point start, Point end, SearchBudget budget) {
+        ensureMazeHasNoPath(maze);
+        toIndex(start, maze.width(), maze.height());
+        toIndex(end, maze.width(), maze.height());
+        if (maze != indexedMaze || maze.layoutVersion() != indexedVersion) {
+            index = TreePathIndex.build(maze).orElse(null);
+            indexedMaze = maze;
+            indexedVersion = maze.layoutVersion();
+        }
+        if (index == null || !index.contains(start) || !index.contains(end)) {
+            return fallback.search(maze, start, end, budget);
+        }
+        if (!index.connected(start, end)) {
+            return budget.notFound();
+        }
+        return budget.found(index.path(start, end));
+    }
+
+    /** Построен ли индекс для последнего лабиринта, то есть оказался ли он деревом. */
+    public boolean isIndexed() {
+        return index != null;
+    }
+}
@@ -7,6 +7,7 @@ import academy.maze.dto.Maze;
 import academy.maze.dto.Point;
 import academy.maze.generator.DFSGenerator;
 import academy.maze.solver.AStarSolver;
+import academy.maze.solver.BidirectionalBfsSolver;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -71,6 +72,10 @@ class ErrorHandlingTest {
                     solver.solve(maze, start, end);
                 },
                 "Should throw exception when no path exists");
+        assertThrows(
+                RuntimeException.class,
+                () -> new BidirectionalBfsSolver().solve(maze, start, end),
+                "Bidirectional search should also report a missing path");
     }
 
     @Test
@@ -1,8 +1,36 @@
 package academy;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import academy.maze.MazeServer;
+import academy.maze.NotInteractiveMazeManager;
+import academy.maze.commands.MazeCache;
+import academy.maze.commands.MazeCommands;
+import academy.maze.commands.MazeFormatException;
+import academy.maze.dto.CellType;
+import academy.maze.dto.GeneratorType;
+import academy.maze.dto.Maze;
+import academy.maze.dto.MazeFileHeader;
+import academy.maze.dto.Point;
+import academy.maze.generator.PrimGenerator;
+import academy.maze.solver.CellCosts;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 @DisplayName("Maze Application Comprehensive Tests")
@@ -19,4 +47,277 @@ public class MazeApplicationTest {
         testMazeFile = tempDir.resolve("test_maze.txt");
         testSolutionFile = tempDir.resolve("test_solution.txt");
     }
+
+    @Test
+    @DisplayName("Saved maze should load back in both plain and unicode notation")
+    void savedMaze_ShouldLoadBackInBothNotations() throws IOException {
+        // Подготовка
+        Maze maze = new PrimGenerator(true, 5).generate(31, 21);
+        maze.set(1, 1, CellType.START);
+        maze.set(29, 19, CellType.END);
+
+        for (boolean useUnicode : new boolean[] {false, true}) {
+            // Действие
+            MazeCommands.saveMazeToFile(maze, testMazeFile.toString(), useUnicode);
+            Maze loaded = MazeCommands.loadMazeFromFile(testMazeFile.toString());
+
+            // Проверка
+            assertEquals(maze.width(), loaded.width());
+            assertEquals(maze.height(), loaded.height());
+            for (int i = 0; i < maze.size(); i++) {
+                assertEquals(maze.get(i), loaded.get(i), "Cell " + i + ", unicode: " + useUnicode);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Loader should handle CRLF line breaks and ragged lines")
+    void loader_ShouldHandleLineBreaksAndShortLines() throws IOException {
+        // Подготовка - вторая строка короче первой, последней строки без перевода строки
+        Files.writeString(testMazeFile, "#####\r\n#O\r\n#  X#", StandardCharsets.UTF_8);
+
+        // Действие
+        Maze maze = MazeCommands.loadMazeFromFile(testMazeFile.toString());
+
+        // Проверка
+        assertEquals(5, maze.width());
+        assertEquals(3, maze.height());
+        assertEquals(CellType.START, maze.get(1, 1));
+        assertEquals(CellType.EMPTY, maze.get(4, 1), "Short lines are padded with empty cells");
+        assertEquals(CellType.END, maze.get(3, 2));
+        assertEquals(CellType.WALL, maze.get(4, 2));
+    }
+
+    @Test
+    @DisplayName("Binary maze file should round-trip cells and header")
+    void binaryMaze_ShouldRoundTripCellsAndHeader() throws IOException {
+        // Подготовка
+        Path binaryFile = tempDir.resolve("maze.mzb");
+        Maze maze = new PrimGenerator(true, 7).generate(33, 17);
+        maze.set(1, 1, CellType.START);
+        maze.set(31, 15, CellType.END);
+
+        // Действие
+        MazeCommands.saveMazeToFile(maze, binaryFile.toString(), false, GeneratorType.PRIM, 7L);
+        Maze loaded = MazeCommands.loadMazeFromFile(binaryFile.toString());
+        MazeFileHeader header = MazeCommands.loadMazeHeader(binaryFile.toString());
+
+        // Проверка
+        assertEquals(30 + (33 * 17 * 3 + 7) / 8, Files.size(binaryFile), "3 bits per cell after the header");
+        assertEquals(new MazeFileHeader(33, 17, GeneratorType.PRIM, 7L, new Point(1, 1), new Point(31, 15)), header);
+        assertEquals(maze.width(), loaded.width());
+        assertEquals(maze.height(), loaded.height());
+        for (int i = 0; i < maze.size(); i++) {
+            assertEquals(maze.get(i), loaded.get(i), "Cell " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Binary solution file should carry the path's start and end in header and cells")
+    void binarySolution_ShouldStoreEndpointsFromPath() throws IOException {
+        // Подготовка - START и END в лабиринт не записаны, они есть только у пути
+        Path binaryFile = tempDir.resolve("solution.mzb");
+        Maze maze = new Maze(5, 3);
+        for (int x = 1; x < 4; x++) {
+            maze.set(x, 1, CellType.EMPTY);
+        }
+        List<Point> path = List.of(new Point(1, 1), new Point(2, 1), new Point(3, 1));
+
+        // Действие
+        MazeCommands.saveSolutionToFile(maze, path, binaryFile.toString(), false);
+        MazeFileHeader header = MazeCommands.loadMazeHeader(binaryFile.toString());
+        Maze loaded = MazeCommands.loadMazeFromFile(binaryFile.toString());
+
+        // Проверка
+        assertEquals(new Point(1, 1), header.start());
+        assertEquals(new Point(3, 1), header.end());
+        assertEquals(CellType.START, loaded.get(1, 1));
+        assertEquals(CellType.PATH, loaded.get(2, 1));
+        assertEquals(CellType.END, loaded.get(3, 1));
+    }
+
+    @Test
+    @DisplayName("Binary maze with impossible header dimensions should be reported as a format error")
+    void binaryMaze_ShouldRejectOversizedHeader() throws IOException {
+        // Подготовка - заголовок настоящего файла, в котором ширина и высота заменены на 65536
+        Path binaryFile = tempDir.resolve("huge.mzb");
+        MazeCommands.saveMazeToFile(new Maze(3, 3), binaryFile.toString(), false);
+        byte[] bytes = Files.readAllBytes(binaryFile);
+        ByteBuffer.wrap(bytes).putInt(4, 1 << 16).putInt(8, 1 << 16);
+        Files.write(binaryFile, bytes);
+        Path emptyWithStart = tempDir.resolve("empty.mzb");
+        ByteBuffer.wrap(bytes).putInt(4, 0).putInt(22, 0);
+        Files.write(emptyWithStart, Arrays.copyOf(bytes, 30));
+
+        // Действие и Проверка
+        String huge = binaryFile.toString();
+        assertThrows(MazeFormatException.class, () -> MazeCommands.loadMazeHeader(huge));
+        assertThrows(MazeFormatException.class, () -> MazeCommands.loadMazeFromFile(huge));
+        assertThrows(MazeFormatException.class, () -> MazeCommands.loadMazeFromFile(emptyWithStart.toString()));
+    }
+
+    @Test
+    @DisplayName("Console printing should render whole rows in both notations")
+    void printGrid_ShouldRenderRowsInBothNotations() {
+        // Подготовка
+        Maze maze = new Maze(3, 2);
+        maze.set(1, 0, CellType.START);
+        maze.set(2, 1, CellType.EMPTY);
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        String newLine = System.lineSeparator();
+
+        // Действие
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            MazeCommands.printGrid(maze, false);
+            MazeCommands.printGrid(maze, true);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        // Проверка
+        assertEquals(
+                "#O#" + newLine + "## " + newLine + "▓●▓" + newLine + "▓▓░" + newLine,
+                captured.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Saving a solution should overlay the path and its endpoints without touching the maze")
+    void saveSolution_ShouldOverlayPathWithoutChangingMaze() throws IOException {
+        // Подготовка
+        Maze maze = new Maze(4, 3);
+        maze.set(1, 1, CellType.EMPTY);
+        maze.set(2, 1, CellType.EMPTY);
+        maze.set(2, 2, CellType.EMPTY);
+        List<Point> path = List.of(new Point(1, 1), new Point(2, 1), new Point(2, 2));
+        int versionBefore = maze.layoutVersion();
+
+        // Действие
+        MazeCommands.saveSolutionToFile(maze, path, testSolutionFile.toString(), false);
+
+        // Проверка
+        assertEquals(List.of("####", "#O.#", "##X#"), Files.readAllLines(testSolutionFile));
+        assertEquals(CellType.EMPTY, maze.get(2, 1), "Maze itself must stay unchanged");
+        assertEquals(versionBefore, maze.layoutVersion());
+    }
+
+    @Test
+    @DisplayName("Maze cache should serve unchanged files and reload changed ones")
+    void mazeCache_ShouldServeUnchangedFilesAndReloadChangedOnes() throws IOException {
+        // Подготовка
+        MazeCache cache = MazeCommands.mazeCache();
+        Files.writeString(testMazeFile, "###\n# #\n###\n", StandardCharsets.UTF_8);
+        long hitsBefore = cache.stats().hitCount();
+        long missesBefore = cache.stats().missCount();
+
+        // Действие
+        Maze first = MazeCommands.loadMazeFromFile(testMazeFile.toString());
+        Maze second = MazeCommands.loadMazeFromFile(testMazeFile.toString());
+        Files.writeString(testMazeFile, "###\n#O#\n###\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(testMazeFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        Maze changed = MazeCommands.loadMazeFromFile(testMazeFile.toString());
+
+        // Проверка - загрузки отдают один неизменяемый снимок, изменять можно только копию
+        assertSame(first, second);
+        assertTrue(first.isSnapshot());
+        assertThrows(UnsupportedOperationException.class, () -> first.set(1, 1, CellType.WALL));
+        Maze copy = first.copy();
+        copy.set(1, 1, CellType.WALL);
+        assertEquals(CellType.EMPTY, first.get(1, 1), "Changes to a copy must not leak into the cache");
+        assertEquals(CellType.START, changed.get(1, 1), "A modified file must be parsed again");
+        assertEquals(1, cache.stats().hitCount() - hitsBefore);
+        assertEquals(2, cache.stats().missCount() - missesBefore);
+    }
+
+    @Test
+    @DisplayName("Server should solve and generate mazes over HTTP")
+    void server_ShouldSolveAndGenerateOverHttp() throws Exception {
+        // Подготовка
+        Files.writeString(testMazeFile, "#####\n#   #\n# # #\n#####\n", StandardCharsets.UTF_8);
+        String file = testMazeFile.toString();
+        Path corrupt = tempDir.resolve("corrupt.mzb");
+        Files.write(corrupt, new byte[] {'M', 'Z', 'B', 1, 0, 0});
+        Path forest = tempDir.resolve("forest.txt");
+        Files.writeString(forest, "#####\n#  ##\n#####\n## ##\n#####\n", StandardCharsets.UTF_8);
+
+        try (MazeServer server = MazeServer.start("127.0.0.1", 0, CellCosts.defaults(), tempDir);
+                HttpClient client = HttpClient.newHttpClient()) {
+            String base = "http://127.0.0.1:" + server.port();
+
+            // Действие
+            HttpResponse<String> solved = get(client, base + "/solve?file=" + file + "&start=1,2&end=3,2");
+            HttpResponse<String> path =
+                    get(client, base + "/solve?file=" + file + "&start=1,2&end=3,2&format=path&algorithm=bfs");
+            HttpResponse<String> generated = get(client, base + "/generate?width=7&height=5&seed=3");
+            HttpResponse<String> badPoint = get(client, base + "/solve?file=" + file + "&start=9,9&end=3,2");
+            HttpResponse<String> missing = get(client, base + "/solve?file=missing.txt&start=1,1&end=3,1");
+            HttpResponse<String> samePoint = get(client, base + "/solve?file=" + file + "&start=1,1&end=1,1");
+            HttpResponse<String> escaped = get(client, base + "/solve?file=../test_maze.txt&start=1,1&end=3,1");
+            HttpResponse<String> outside =
+                    get(client, base + "/solve?file=" + Path.of("pom.xml").toAbsolutePath() + "&start=1,1&end=3,1");
+            HttpResponse<String> noPath = get(client, base + "/solve?file=" + file + "&start=1,2&end=2,3");
+            HttpResponse<String> apart =
+                    get(client, base + "/solve?file=" + forest + "&start=1,1&end=2,3&algorithm=tree");
+            HttpResponse<String> damaged = get(client, base + "/solve?file=corrupt.mzb&start=1,1&end=3,1");
+            HttpResponse<String> negative = get(client, base + "/solve?file=" + file + "&start=1,2&end=3,1&timeout=-5");
+            HttpResponse<String> endless =
+                    get(client, base + "/solve?file=" + file + "&start=1,2&end=3,1&timeout=" + Long.MAX_VALUE);
+            HttpResponse<String> noExpansions =
+                    get(client, base + "/solve?file=" + file + "&start=1,2&end=3,1&maxExpansions=-1");
+            HttpResponse<String> limited =
+                    get(client, base + "/solve?file=" + file + "&start=1,2&end=3,1&algorithm=dijkstra&maxExpansions=1");
+
+            // Проверка
+            String newLine = System.lineSeparator();
+            assertEquals(200, solved.statusCode());
+            assertEquals(String.join(newLine, "#####", "#...#", "#O#X#", "#####", ""), solved.body());
+            assertEquals("5\t1,2 1,1 2,1 3,1 3,2\n", path.body());
+            assertEquals(200, generated.statusCode());
+            assertEquals(5, generated.body().lines().count());
+            assertEquals("3", generated.headers().firstValue("X-Maze-Seed").orElseThrow());
+            assertEquals(400, badPoint.statusCode());
+            assertEquals(404, missing.statusCode());
+            assertEquals(400, samePoint.statusCode());
+            assertEquals(400, escaped.statusCode());
+            assertEquals(400, outside.statusCode());
+            assertEquals(422, noPath.statusCode());
+            assertEquals(422, apart.statusCode());
+            assertEquals(422, damaged.statusCode());
+            assertTrue(damaged.body().contains("corrupt.mzb"));
+            assertFalse(damaged.body().contains(tempDir.toRealPath().toString()), "Server root must not leak");
+            assertEquals(400, negative.statusCode());
+            assertEquals(400, endless.statusCode());
+            assertEquals(400, noExpansions.statusCode());
+            assertEquals(503, limited.statusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Solve command should accept start and end on a wall cell")
+    void solveMaze_ShouldAcceptEndpointsOnWalls() throws IOException {
+        // Подготовка - (2, 2) — стена между двумя коридорами
+        Files.writeString(testMazeFile, "#####\n#   #\n# # #\n#   #\n#####\n", StandardCharsets.UTF_8);
+        String file = testMazeFile.toString();
+        String output = testSolutionFile.toString();
+
+        for (boolean wallIsEnd : new boolean[] {true, false}) {
+            int[] start = wallIsEnd ? new int[] {1, 1} : new int[] {2, 2};
+            int[] end = wallIsEnd ? new int[] {2, 2} : new int[] {3, 3};
+
+            // Действие
+            NotInteractiveMazeManager.solveMaze("astar", file, start, end, output, CellCosts.defaults());
+
+            // Проверка
+            List<String> lines = Files.readAllLines(testSolutionFile, StandardCharsets.UTF_8);
+            assertEquals('O', lines.get(start[1]).charAt(start[0]), "wall is end: " + wallIsEnd);
+            assertEquals('X', lines.get(end[1]).charAt(end[0]), "wall is end: " + wallIsEnd);
+        }
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String uri) throws Exception {
+        return client.send(
+                HttpRequest.newBuilder(URI.create(uri)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
 }
@@ -6,7 +6,18 @@ import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
 import academy.maze.generator.BinaryTreeGenerator;
 import academy.maze.generator.DFSGenerator;
+import academy.maze.generator.EllerGenerator;
+import academy.maze.generator.KruskalGenerator;
+import academy.maze.generator.ParallelTiledGenerator;
 import academy.maze.generator.PrimGenerator;
+import academy.maze.generator.RowParallelGenerator;
+import academy.maze.generator.SidewinderGenerator;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -34,6 +45,20 @@ class MazeGeneratorTest {
         assertTrue(hasValidBorders(maze.cells(), width, height), "Maze should have valid wall borders");
     }
 
+    @Test
+    @DisplayName("DFS Generator should create perfect maze")
+    void dfsGenerator_ShouldCreatePerfectMaze() {
+        // Подготовка
+        DFSGenerator generator = new DFSGenerator(true, 5);
+
+        // Действие
+        Maze maze = generator.generate(51, 41);
+
+        // Проверка - 25 x 20 комнат, связанных ровно 25 * 20 - 1 проходами
+        assertTrue(allRoomsConnected(maze), "Every odd cell should be reachable from (1, 1)");
+        assertEquals(25 * 20 - 1, countPassages(maze), "Perfect maze has exactly rooms - 1 passages");
+    }
+
     @Test
     @DisplayName("Prim Generator should create valid maze")
     void primGenerator_ShouldCreateValidMaze() {
@@ -51,6 +76,113 @@ class MazeGeneratorTest {
         assertEquals(width, maze.cells()[0].length);
     }
 
+    @Test
+    @DisplayName("Prim Generator should connect every room")
+    void primGenerator_ShouldConnectEveryRoom() {
+        // Подготовка
+        PrimGenerator generator = new PrimGenerator(false);
+
+        // Действие
+        Maze maze = generator.generate(41, 31);
+
+        // Проверка - из любой комнаты достижимы все остальные
+        assertTrue(allRoomsConnected(maze), "Every odd cell should be reachable from (1, 1)");
+    }
+
+    @Test
+    @DisplayName("Eller Generator should create perfect maze row by row")
+    void ellerGenerator_ShouldCreatePerfectMaze() throws IOException {
+        // Подготовка
+        EllerGenerator generator = new EllerGenerator(false);
+        int width = 31;
+        int height = 21;
+        List<Integer> streamedRows = new ArrayList<>();
+
+        // Действие
+        Maze maze = generator.generate(width, height);
+        generator.generate(width, height, (y, row) -> streamedRows.add(y));
+
+        // Проверка
+        assertTrue(hasValidBorders(maze.cells(), width, height), "Maze should have valid wall borders");
+        assertTrue(allRoomsConnected(maze), "Every odd cell should be reachable from (1, 1)");
+        assertEquals(height, streamedRows.size(), "Every row should be streamed exactly once");
+    }
+
+    @Test
+    @DisplayName("Parallel tiled generation should stitch tiles into one perfect maze")
+    void parallelTiledGenerator_ShouldCreatePerfectMaze() {
+        // Подготовка - маленькие плитки, чтобы швов было много
+        ParallelTiledGenerator generator = new ParallelTiledGenerator(
+                seed -> new DFSGenerator(false, seed), false, 42, 4, ForkJoinPool.commonPool());
+        int width = 61;
+        int height = 41;
+
+        // Действие
+        Maze maze = generator.generate(width, height);
+
+        // Проверка
+        assertTrue(hasValidBorders(maze.cells(), width, height), "Maze should have valid wall borders");
+        assertTrue(allRoomsConnected(maze), "Every odd cell should be reachable from (1, 1)");
+        assertEquals(30 * 20 - 1, countPassages(maze), "Perfect maze has exactly rooms - 1 passages");
+    }
+
+    @Test
+    @DisplayName("Same seed should reproduce the same maze")
+    void seededGenerators_ShouldBeReproducible() {
+        // Действие и Проверка
+        assertEquals(
+                render(new DFSGenerator(true, 7).generate(41, 31)), render(new DFSGenerator(true, 7).generate(41, 31)));
+        assertEquals(
+                render(new PrimGenerator(true, 7).generate(41, 31)),
+                render(new PrimGenerator(true, 7).generate(41, 31)));
+        assertEquals(
+                render(new EllerGenerator(true, 7).generate(41, 31)),
+                render(new EllerGenerator(true, 7).generate(41, 31)));
+        assertNotEquals(
+                render(new DFSGenerator(false, 7).generate(41, 31)),
+                render(new DFSGenerator(false, 8).generate(41, 31)));
+    }
+
+    @Test
+    @DisplayName("Parallel tiled generation should not depend on the number of threads")
+    void parallelTiledGenerator_ShouldNotDependOnThreadCount() {
+        // Подготовка
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        ForkJoinPool fourThreads = new ForkJoinPool(4);
+
+        try {
+            // Действие
+            Maze sequential = new ParallelTiledGenerator(
+                            seed -> new PrimGenerator(true, seed), true, 99, 3, singleThread)
+                    .generate(81, 61);
+            Maze parallel = new ParallelTiledGenerator(seed -> new PrimGenerator(true, seed), true, 99, 3, fourThreads)
+                    .generate(81, 61);
+
+            // Проверка
+            assertEquals(render(sequential), render(parallel));
+        } finally {
+            singleThread.shutdown();
+            fourThreads.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Kruskal Generator should create perfect maze")
+    void kruskalGenerator_ShouldCreatePerfectMaze() {
+        // Подготовка
+        KruskalGenerator generator = new KruskalGenerator(false, 3);
+        int width = 41;
+        int height = 30;
+
+        // Действие
+        Maze maze = generator.generate(width, height);
+
+        // Проверка - 20 x 14 комнат, связанных ровно 20 * 14 - 1 проходами
+        assertTrue(hasValidBorders(maze.cells(), width, height), "Maze should have valid wall borders");
+        assertTrue(allRoomsConnected(maze), "Every odd cell should be reachable from (1, 1)");
+        assertEquals(20 * 14 - 1, countPassages(maze), "Perfect maze has exactly rooms - 1 passages");
+    }
+
     @Test
     @DisplayName("Binary Tree Generator should create valid maze")
     void binaryTreeGenerator_ShouldCreateValidMaze() {
@@ -68,6 +200,33 @@ class MazeGeneratorTest {
         assertEquals(width, maze.cells()[0].length);
     }
 
+    @Test
+    @DisplayName("Row-parallel generators should create perfect mazes independent of mode")
+    void rowParallelGenerators_ShouldCreatePerfectMazes() {
+        // Подготовка - высота больше одного блока строк
+        int width = 61;
+        int height = 2 * (RowParallelGenerator.ROWS_PER_BLOCK * 2 + 5) + 1;
+        int rooms = 30 * (RowParallelGenerator.ROWS_PER_BLOCK * 2 + 5);
+
+        for (boolean sidewinder : new boolean[] {false, true}) {
+            // Действие
+            Maze sequential = sidewinder
+                    ? new SidewinderGenerator(true, 11, false).generate(width, height)
+                    : new BinaryTreeGenerator(true, 11, false).generate(width, height);
+            Maze parallel = sidewinder
+                    ? new SidewinderGenerator(true, 11, true).generate(width, height)
+                    : new BinaryTreeGenerator(true, 11, true).generate(width, height);
+
+            // Проверка
+            assertEquals(render(sequential), render(parallel), "Parallel mode should not change the maze");
+            assertTrue(hasValidBorders(parallel.cells(), width, height), "Maze should have valid wall borders");
+            assertTrue(allRoomsConnected(parallel), "Every odd cell should be reachable from (1, 1)");
+            assertEquals(rooms - 1, countPassages(parallel), "Perfect maze has exactly rooms - 1 passages");
+            assertEquals(2 * rooms - 1, parallel.passableCount(), "Summary should see cells written in bulk");
+            assertEquals(sequential.terrainHash(), parallel.terrainHash());
+        }
+    }
+
     @Test
     @DisplayName("Generator with coatings should include different cell types")
     void generatorWithCoatings_ShouldIncludeDifferentCellTypes() {
@@ -104,6 +263,59 @@ class MazeGeneratorTest {
         return true;
     }
 
+    private boolean allRoomsConnected(Maze maze) {
+        boolean[] visited = new boolean[maze.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        visited[maze.index(1, 1)] = true;
+        queue.add(maze.index(1, 1));
+        int[][] moves = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int x = cell % maze.width();
+            int y = cell / maze.width();
+            for (int[] move : moves) {
+                int nx = x + move[0];
+                int ny = y + move[1];
+                if (maze.contains(nx, ny) && maze.get(nx, ny) != CellType.WALL && !visited[maze.index(nx, ny)]) {
+                    visited[maze.index(nx, ny)] = true;
+                    queue.add(maze.index(nx, ny));
+                }
+            }
+        }
+
+        for (int y = 1; y < maze.height() - 1; y += 2) {
+            for (int x = 1; x < maze.width() - 1; x += 2) {
+                if (!visited[maze.index(x, y)]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private String render(Maze maze) {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < maze.height(); y++) {
+            for (int x = 0; x < maze.width(); x++) {
+                sb.append(maze.get(x, y).getSymbol());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private int countPassages(Maze maze) {
+        int passages = 0;
+        for (int y = 1; y < maze.height() - 1; y++) {
+            for (int x = 1; x < maze.width() - 1; x++) {
+                if ((x + y) % 2 == 1 && maze.get(x, y) != CellType.WALL) {
+                    passages++;
+                }
+            }
+        }
+        return passages;
+    }
+
     private boolean hasSpecialCoverageCells(CellType[][] cells) {
         for (CellType[] row : cells) {
             for (CellType cell : row) {
@@ -2,12 +2,34 @@ package academy;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import academy.maze.BatchMazeSolver;
 import academy.maze.dto.CellType;
 import academy.maze.dto.Maze;
 import academy.maze.dto.Path;
 import academy.maze.dto.Point;
+import academy.maze.generator.DFSGenerator;
+import academy.maze.generator.KruskalGenerator;
+import academy.maze.generator.PrimGenerator;
 import academy.maze.solver.AStarSolver;
+import academy.maze.solver.BfsSolver;
+import academy.maze.solver.BidirectionalBfsSolver;
+import academy.maze.solver.CachingSolver;
+import academy.maze.solver.CancellationToken;
+import academy.maze.solver.CellCosts;
+import academy.maze.solver.DialSolver;
 import academy.maze.solver.DijkstraSolver;
+import academy.maze.solver.JumpPointSolver;
+import academy.maze.solver.SearchLimits;
+import academy.maze.solver.SearchResult;
+import academy.maze.solver.SolutionCache;
+import academy.maze.solver.Solver;
+import academy.maze.solver.TreePathIndex;
+import academy.maze.solver.TreePathSolver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -75,7 +97,245 @@ class MazeSolverTest {
         assertEquals(point, path.points()[0]);
     }
 
+    @Test
+    @DisplayName("A* and Dijkstra should choose the shortest of several routes")
+    void solvers_ShouldChooseShortestRoute() {
+        // Подготовка - лабиринт с короткой и длинной дорогой
+        Maze maze = new Maze(createMazeWithTwoRoutes());
+        Point start = new Point(1, 1);
+        Point end = new Point(5, 1);
+
+        // Действие
+        Path aStarPath = new AStarSolver().solve(maze, start, end);
+        Path dijkstraPath = new DijkstraSolver().solve(maze, start, end);
+
+        // Проверка - короткая дорога идёт по верхнему ряду
+        assertEquals(5, aStarPath.points().length);
+        assertEquals(5, dijkstraPath.points().length);
+        assertTrue(isPathValid(aStarPath, maze));
+        assertTrue(isPathValid(dijkstraPath, maze));
+    }
+
+    @Test
+    @DisplayName("BFS and bidirectional BFS should find paths as short as A*")
+    void bfsSolvers_ShouldMatchAStarLength() {
+        // Один экземпляр на все запросы: рабочие массивы переиспользуются
+        BidirectionalBfsSolver bidirectionalSolver = new BidirectionalBfsSolver();
+        for (long seed = 0; seed < 20; seed++) {
+            // Подготовка - идеальный лабиринт, путь между случайными углами
+            Maze maze = new PrimGenerator(false, seed).generate(31, 21);
+            Point start = new Point(1, 1);
+            Point end = new Point(29, (int) (1 + 2 * (seed % 10)));
+
+            // Действие
+            Path expected = new AStarSolver().solve(maze, start, end);
+            Path bfs = new BfsSolver().solve(maze, start, end);
+            Path bidirectional = bidirectionalSolver.solve(maze, start, end);
+
+            // Проверка
+            assertEquals(expected.points().length, bfs.points().length);
+            assertEquals(expected.points().length, bidirectional.points().length);
+            assertEquals(start, bidirectional.points()[0]);
+            assertEquals(end, bidirectional.points()[bidirectional.points().length - 1]);
+            assertTrue(isPathValid(bidirectional, maze));
+        }
+    }
+
+    @Test
+    @DisplayName("Jump Point Search should find shortest paths in open rooms and mazes")
+    void jumpPointSolver_ShouldMatchBfsLength() {
+        // Подготовка - открытая комната с колоннами и обычный лабиринт
+        Maze room = new Maze(40, 30);
+        for (int y = 1; y < 29; y++) {
+            for (int x = 1; x < 39; x++) {
+                room.set(x, y, x % 7 == 3 && y % 5 == 2 ? CellType.WALL : CellType.EMPTY);
+            }
+        }
+        Maze maze = new DFSGenerator(false, 3).generate(41, 31);
+        JumpPointSolver solver = new JumpPointSolver();
+
+        for (Maze grid : new Maze[] {room, maze, room}) {
+            Point start = new Point(1, 1);
+            Point end = new Point(grid.width() - 3, grid.height() - 2);
+
+            // Действие
+            Path expected = new BfsSolver().solve(grid, start, end);
+            Path jps = solver.solve(grid, start, end);
+
+            // Проверка
+            assertEquals(expected.points().length, jps.points().length);
+            assertEquals(start, jps.points()[0]);
+            assertEquals(end, jps.points()[jps.points().length - 1]);
+            assertTrue(isPathValid(jps, grid));
+        }
+    }
+
+    @Test
+    @DisplayName("Tree index should answer path queries on perfect mazes")
+    void treePathIndex_ShouldMatchSearchOnPerfectMaze() {
+        // Подготовка
+        Maze maze = new KruskalGenerator(false, 9).generate(41, 31);
+        TreePathIndex index = TreePathIndex.build(maze).orElseThrow();
+        TreePathSolver solver = new TreePathSolver();
+        Point start = new Point(1, 1);
+
+        for (int y = 1; y < 31; y += 6) {
+            for (int x = 1; x < 41; x += 4) {
+                Point end = new Point(x, y);
+
+                // Действие
+                Path expected = new BfsSolver().solve(maze, start, end);
+                Path path = solver.solve(maze, start, end);
+
+                // Проверка
+                assertEquals(expected.points().length - 1, index.distance(start, end));
+                assertArrayEquals(expected.points(), path.points());
+            }
+        }
+        assertTrue(solver.isIndexed());
+    }
+
+    @Test
+    @DisplayName("Tree solver should fall back to search on mazes with cycles")
+    void treePathSolver_ShouldFallBackOnCycles() {
+        // Подготовка - в лабиринте с двумя дорогами есть цикл
+        Maze maze = new Maze(createMazeWithTwoRoutes());
+        TreePathSolver solver = new TreePathSolver();
+
+        // Действие
+        Path path = solver.solve(maze, new Point(1, 1), new Point(5, 1));
+
+        // Проверка
+        assertTrue(TreePathIndex.build(maze).isEmpty());
+        assertFalse(solver.isIndexed());
+        assertEquals(5, path.points().length);
+    }
+
+    @Test
+    @DisplayName("Tree solver should report NO_PATH between separate components")
+    void treePathSolver_ShouldReportDisconnectedQueries() {
+        // Подготовка - два коридора без общего прохода, каждый из них дерево
+        Maze maze = new Maze(new CellType[][] {row("#####"), row("#  ##"), row("#####"), row("## ##"), row("#####")});
+        TreePathSolver solver = new TreePathSolver();
+
+        // Действие
+        SearchResult result = solver.solve(maze, new Point(1, 1), new Point(2, 3), SearchLimits.none());
+
+        // Проверка
+        assertTrue(solver.isIndexed());
+        assertEquals(SearchResult.Status.NO_PATH, result.status());
+        assertEquals(
+                SearchResult.Status.FOUND,
+                solver.solve(maze, new Point(1, 1), new Point(2, 1), SearchLimits.none())
+                        .status());
+    }
+
+    @Test
+    @DisplayName("Maze summary should follow changes to the grid")
+    void mazeSummary_ShouldBeInvalidatedOnChange() {
+        // Подготовка
+        Maze maze = new Maze(createSimpleMaze());
+        int version = maze.layoutVersion();
+
+        // Действие и Проверка - сводка строится по текущему состоянию
+        assertEquals(7, maze.count(CellType.EMPTY));
+        assertEquals(7, maze.passableCount());
+        assertEquals(-1, maze.firstIndexOf(CellType.START));
+
+        maze.set(1, 1, CellType.START);
+        maze.set(3, 3, CellType.END);
+        assertEquals(maze.index(1, 1), maze.firstIndexOf(CellType.START));
+        assertEquals(maze.index(3, 3), maze.firstIndexOf(CellType.END));
+        assertEquals(5, maze.count(CellType.EMPTY));
+        assertEquals(version, maze.layoutVersion(), "Passability did not change");
+
+        maze.set(2, 1, CellType.WALL);
+        assertEquals(6, maze.passableCount());
+        assertNotEquals(version, maze.layoutVersion());
+        assertThrows(RuntimeException.class, () -> new TreePathSolver().solve(maze, new Point(1, 1), new Point(3, 3)));
+    }
+
+    @Test
+    @DisplayName("Batch solver should answer every query in order on several threads")
+    void batchSolver_ShouldAnswerQueriesInOrder() throws InterruptedException {
+        // Подготовка - запросов больше, чем потоки забирают за раз, один запрос без решения
+        Maze maze = new DFSGenerator(false, 21).generate(31, 31);
+        List<String> lines = new ArrayList<>();
+        lines.add("# комментарий");
+        for (int i = 0; i < 200; i++) {
+            lines.add("1,1 " + (1 + 2 * (i % 15)) + "," + (1 + 2 * (i / 15 % 15)));
+        }
+        lines.add("1,1 0,0");
+        List<BatchMazeSolver.Query> queries = BatchMazeSolver.parseQueries(lines);
+
+        // Действие
+        List<String> results = new BatchMazeSolver(BfsSolver::new, 4).solveAll(maze, queries);
+
+        // Проверка
+        assertEquals(201, results.size());
+        for (int i = 0; i < 200; i++) {
+            BatchMazeSolver.Query query = queries.get(i);
+            int expected =
+                    new AStarSolver().solve(maze, query.start(), query.end()).points().length;
+            assertTrue(results.get(i).startsWith(query + "\t" + expected + "\t"), results.get(i));
+        }
+        assertTrue(results.get(200).startsWith("1,1 0,0\t-1\t"));
+        assertThrows(IllegalArgumentException.class, () -> BatchMazeSolver.parseQueries(List.of("1,1;2,2")));
+    }
+
+    @Test
+    @DisplayName("Dial Solver should route around expensive coatings")
+    void dialSolver_ShouldAvoidExpensiveCells() {
+        // Подготовка - короткая дорога по воде, длинная по пустым клеткам
+        Maze maze = new Maze(createMazeWithTwoRoutes());
+        maze.set(2, 1, CellType.WATER);
+        maze.set(3, 1, CellType.WATER);
+        Point start = new Point(1, 1);
+        Point end = new Point(5, 1);
+
+        // Действие
+        DialSolver dial = new DialSolver();
+        Path weighted = dial.solve(maze, start, end);
+        Path uniform = new DialSolver(CellCosts.uniform()).solve(maze, start, end);
+        Path repeated = dial.solve(maze, start, end);
+
+        // Проверка - вода стоит 5, поэтому обход по нижнему ряду (11 клеток) дешевле
+        assertEquals(11, weighted.points().length);
+        assertTrue(isPathValid(weighted, maze));
+        assertEquals(5, uniform.points().length);
+        assertArrayEquals(weighted.points(), repeated.points(), "Reused buckets should give the same path");
+    }
+
+    @Test
+    @DisplayName("Cell costs should be parsed from text")
+    void cellCosts_ShouldParseSpecification() {
+        // Действие
+        CellCosts costs = CellCosts.parse("grass=4, WATER=7");
+
+        // Проверка
+        assertEquals(4, costs.cost(CellType.GRASS));
+        assertEquals(3, costs.cost(CellType.SAND));
+        assertEquals(7, costs.cost(CellType.WATER));
+        assertEquals(7, costs.maxCost());
+        assertThrows(IllegalArgumentException.class, () -> CellCosts.parse("wall=1"));
+        assertThrows(IllegalArgumentException.class, () -> CellCosts.parse("sand=0"));
+        assertThrows(IllegalArgumentException.class, () -> CellCosts.parse("lava=2"));
+    }
+
     // Вспомогательные методы для создания тестовых лабиринтов
+    private CellType[][] createMazeWithTwoRoutes() {
+        CellType w = CellType.WALL;
+        CellType e = CellType.EMPTY;
+        return new CellType[][] {
+            {w, w, w, w, w, w, w},
+            {w, e, e, e, e, e, w},
+            {w, e, w, w, w, e, w},
+            {w, e, w, w, w, e, w},
+            {w, e, e, e, e, e, w},
+            {w, w, w, w, w, w, w}
+        };
+    }
+
     private CellType[][] createSimpleMaze() {
         return new CellType[][] {
             {CellType.WALL, CellType.WALL, CellType.WALL, CellType.WALL, CellType.WALL},
@@ -110,4 +370,178 @@ class MazeSolverTest {
 
         return true;
     }
+
+    @Test
+    @DisplayName("Caching solver should answer repeated queries from the cache")
+    void cachingSolver_ShouldReuseSolutionsForSameTerrain() {
+        // Подготовка
+        Maze maze = new PrimGenerator(false, 11).generate(41, 41);
+        Point start = new Point(1, 1);
+        Point end = new Point(39, 39);
+        AtomicInteger searches = new AtomicInteger();
+        Solver counting = (m, s, e) -> {
+            searches.incrementAndGet();
+            return new BfsSolver().solve(m, s, e);
+        };
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_CELLS);
+        Solver solver = new CachingSolver(counting, "bfs", cache);
+
+        // Действие
+        Path first = solver.solve(maze, start, end);
+        Maze marked = maze.copy();
+        marked.set(start, CellType.START);
+        marked.set(end, CellType.END);
+        Path repeated = solver.solve(marked, start, end);
+
+        // Проверка - START и END не меняют ключ, путь восстанавливается без поиска
+        assertEquals(1, searches.get());
+        assertArrayEquals(first.points(), repeated.points());
+        assertEquals(1, cache.stats().hitCount());
+
+        // Действие и Проверка - другой алгоритм и изменённые стены дают промах
+        new CachingSolver(counting, "astar", cache).solve(maze, start, end);
+        assertEquals(2, searches.get());
+        maze.set(first.points()[1], CellType.WALL);
+        assertNotEquals(marked.terrainHash(), maze.terrainHash());
+        assertThrows(RuntimeException.class, () -> solver.solve(maze, new Point(0, 0), end));
+        // Действие и Проверка - путь из кэша сквозь стену (как при коллизии хэша) отбрасывается и ищется заново
+        Maze walled = new Maze(5, 3);
+        walled.set(1, 1, CellType.EMPTY);
+        walled.set(3, 1, CellType.EMPTY);
+        AtomicInteger lies = new AtomicInteger();
+        Solver throughWall = new CachingSolver(
+                (m, s, e) -> {
+                    lies.incrementAndGet();
+                    return new Path(new Point[] {s, new Point(2, 1), e});
+                },
+                "through-wall",
+                cache);
+        throughWall.solve(walled, new Point(1, 1), new Point(3, 1));
+        throughWall.solve(walled, new Point(1, 1), new Point(3, 1));
+        assertEquals(2, lies.get());
+    }
+
+    @Test
+    @DisplayName("Solvers should stop at search limits and report why")
+    void solvers_ShouldRespectSearchLimits() {
+        // Подготовка - открытая комната, где путь есть, и она же, перегороженная стеной
+        CellType[][] grid = new CellType[101][101];
+        for (CellType[] row : grid) {
+            Arrays.fill(row, CellType.EMPTY);
+        }
+        Maze open = new Maze(grid);
+        Maze blocked = open.copy();
+        for (int y = 0; y < blocked.height(); y++) {
+            blocked.set(new Point(50, y), CellType.WALL);
+        }
+        Point start = new Point(0, 0);
+        Point end = new Point(100, 100);
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        List<Solver> solvers = List.of(
+                new AStarSolver(),
+                new DijkstraSolver(),
+                new BfsSolver(),
+                new BidirectionalBfsSolver(),
+                new DialSolver(),
+                new JumpPointSolver(),
+                new TreePathSolver());
+
+        for (Solver solver : solvers) {
+            String name = solver.getClass().getSimpleName();
+
+            // Действие
+            SearchResult limited =
+                    solver.solve(open, start, end, SearchLimits.none().withMaxExpansions(1));
+            SearchResult stopped =
+                    solver.solve(open, start, end, SearchLimits.none().withCancellation(cancelled));
+            SearchResult noPath = solver.solve(blocked, start, end, SearchLimits.none());
+            SearchResult found = solver.solve(open, start, end, SearchLimits.none());
+
+            // Проверка
+            assertEquals(SearchResult.Status.BUDGET_EXCEEDED, limited.status(), name);
+            assertEquals(1, limited.expanded(), name);
+            assertNull(limited.path(), name);
+            assertEquals(SearchResult.Status.CANCELLED, stopped.status(), name);
+            assertEquals(0, stopped.expanded(), name);
+            assertEquals(SearchResult.Status.NO_PATH, noPath.status(), name);
+            assertThrows(RuntimeException.class, noPath::orElseThrow, name);
+            assertEquals(SearchResult.Status.FOUND, found.status(), name);
+            assertEquals(201, found.path().points().length, name);
+        }
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.none().withMaxExpansions(0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.none().withMaxExpansions(-1));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.none().withTimeout(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.none()
+                .withTimeout(Duration.ofSeconds(Long.MAX_VALUE)));
+
+        // Проверка - клетки, просмотренные прыжками JPS через открытую комнату, тоже расходуют бюджет
+        SearchResult jumps = new JumpPointSolver()
+                .solve(open, start, end, SearchLimits.none().withMaxExpansions(50));
+        assertEquals(SearchResult.Status.BUDGET_EXCEEDED, jumps.status());
+        assertEquals(50, jumps.expanded());
+    }
+
+    @Test
+    @DisplayName("Caching solver should not remember searches stopped by limits")
+    void cachingSolver_ShouldCacheOnlyFoundPaths() {
+        // Подготовка
+        Maze maze = new PrimGenerator(false, 5).generate(41, 41);
+        Point start = new Point(1, 1);
+        Point end = new Point(39, 39);
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_CELLS);
+        Solver solver = new CachingSolver(new AStarSolver(), "astar", cache);
+        SearchLimits tight = SearchLimits.none().withMaxExpansions(3);
+
+        // Действие
+        SearchResult stopped = solver.solve(maze, start, end, tight);
+        SearchResult found = solver.solve(maze, start, end, SearchLimits.none());
+        SearchResult cached = solver.solve(maze, start, end, tight);
+
+        // Проверка - после полного поиска ответ берётся из кэша и в тесный бюджет укладывается
+        assertEquals(SearchResult.Status.BUDGET_EXCEEDED, stopped.status());
+        assertEquals(SearchResult.Status.FOUND, found.status());
+        assertEquals(SearchResult.Status.FOUND, cached.status());
+        assertEquals(0, cached.expanded());
+        assertArrayEquals(found.path().points(), cached.path().points());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Start and end on a wall should be passable like START and END cells")
+    void solvers_ShouldTreatQueryEndpointsAsPassable() {
+        // Подготовка - (2, 2) — стена между двумя коридорами
+        Maze maze = new Maze(new CellType[][] {row("#####"), row("#   #"), row("# # #"), row("#   #"), row("#####")});
+        Point wall = new Point(2, 2);
+        List<Solver> solvers = List.of(
+                new AStarSolver(),
+                new DijkstraSolver(),
+                new BfsSolver(),
+                new BidirectionalBfsSolver(),
+                new DialSolver(),
+                new JumpPointSolver(),
+                new TreePathSolver());
+
+        for (Solver solver : solvers) {
+            String name = solver.getClass().getSimpleName();
+
+            // Действие
+            Path toWall = solver.solve(maze, new Point(1, 1), wall);
+            Path fromWall = solver.solve(maze, wall, new Point(3, 3));
+
+            // Проверка
+            assertEquals(3, toWall.points().length, name);
+            assertEquals(wall, toWall.points()[2], name);
+            assertEquals(3, fromWall.points().length, name);
+            assertEquals(wall, fromWall.points()[0], name);
+        }
+    }
+
+    private static CellType[] row(String symbols) {
+        CellType[] cells = new CellType[symbols.length()];
+        for (int x = 0; x < cells.length; x++) {
+            cells[x] = CellType.fromChar(symbols.charAt(x));
+        }
+        return cells;
+    }
 }